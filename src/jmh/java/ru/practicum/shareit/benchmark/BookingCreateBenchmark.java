@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.InvalidInputException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание бронирования: блокировка вещи, проверка пересечений и вставка.
+ * Даты выбираются в далёком будущем со сдвигом, поэтому пересечения редки и почти каждый вызов доходит до вставки.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingCreateBenchmark {
+    private BookingService bookingService;
+    private LocalDateTime start;
+
+    @Setup
+    public void setUp(ShareItDataset dataset) {
+        bookingService = dataset.bean(BookingService.class);
+        start = LocalDateTime.now().plusYears(2);
+    }
+
+    @Benchmark
+    public BookingDto createBooking(ShareItDataset dataset) {
+        start = start.plusMinutes(1);
+        BookingCreateDto request = new BookingCreateDto(dataset.randomItemId(), start, start.plusHours(1));
+        try {
+            return bookingService.createBooking(request, dataset.randomUserId());
+        } catch (InvalidInputException e) {
+            // вещь недоступна для бронирования - проверки всё равно выполнены
+            return null;
+        }
+    }
+}
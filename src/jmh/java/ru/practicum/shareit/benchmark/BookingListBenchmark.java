@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Первая страница бронирований пользователя и владельца для каждого состояния.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingListBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    public BookingState state;
+
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp(ShareItDataset dataset) {
+        bookingService = dataset.bean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingDto> byBooker(ShareItDataset dataset) {
+        return bookingService.getBookingsByUser(dataset.randomUserId(), state, 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<BookingDto> byHeavyOwner() {
+        return bookingService.getBookingsByOwner(ShareItDataset.HEAVY_OWNER_ID, state, 0, PAGE_SIZE, null);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузка по HTTP из 128 клиентских потоков: сравнение платформенных и виртуальных потоков Tomcat.
+ * Клиентов больше, чем потоков Tomcat ({@code tomcatThreads}), но меньше, чем соединений в очереди к пулу,
+ * поэтому в режиме виртуальных потоков пределом становится пул Hikari - это видно по
+ * {@code hikaricp.connections.pending} в {@code /actuator/metrics}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(128)
+@Fork(1)
+public class HttpLoadBenchmark {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Benchmark
+    public int getItems(HttpShareItDataset dataset) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(dataset.uri("/items"))
+                .header(USER_HEADER, String.valueOf(1 + ThreadLocalRandom.current().nextInt(dataset.users)))
+                .GET()
+                .build();
+        return dataset.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int postBooking(HttpShareItDataset dataset) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.now().plusYears(1).plusMinutes(random.nextInt(500_000));
+        String body = "{\"itemId\":" + (1 + random.nextInt(dataset.items)) +
+                ",\"start\":\"" + start + "\",\"end\":\"" + start.plusHours(2) + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(dataset.uri("/bookings"))
+                .header(USER_HEADER, String.valueOf(1 + random.nextInt(dataset.users)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return dataset.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Приложение со встроенным Tomcat на случайном порту.
+ * {@code latencyMs} добавляет задержку к каждому подготовленному запросу, имитируя сетевой путь до PostgreSQL:
+ * без неё H2 в памяти не блокирует потоки и разницы между режимами не видно.
+ */
+@State(Scope.Benchmark)
+public class HttpShareItDataset extends ShareItDataset {
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    @Param({"2"})
+    public long latencyMs;
+
+    @Param({"64"})
+    public int tomcatThreads;
+
+    public HttpClient client;
+
+    private URI baseUri;
+
+    @Override
+    protected List<String> arguments() {
+        return List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + tomcatThreads);
+    }
+
+    @Override
+    protected SpringApplicationBuilder customize(SpringApplicationBuilder builder) {
+        return builder.web(WebApplicationType.SERVLET)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && latencyMs > 0
+                                ? new SlowDataSource(dataSource, latencyMs)
+                                : bean;
+                    }
+                }));
+    }
+
+    @Override
+    public void setUp() {
+        super.setUp();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = URI.create("http://localhost:" + port);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    public URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private static class SlowDataSource extends DelegatingDataSource {
+        private final long latencyMs;
+
+        SlowDataSource(DataSource target, long latencyMs) {
+            super(target);
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Connection getConnection() throws java.sql.SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(latencyMs);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
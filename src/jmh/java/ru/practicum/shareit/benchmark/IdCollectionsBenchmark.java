@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обогащение списка вещей комментариями без базы: группировка строк по id вещи и поиск группы для каждой вещи,
+ * как в {@code ItemServiceImpl}. Сравнивает {@link HashMap} с упакованными ключами и {@link LongObjectHashMap};
+ * разницу в выделенной памяти показывает {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdCollectionsBenchmark {
+    private static final int ROWS_PER_ITEM = 3;
+
+    @Param({"1000", "50000"})
+    private int items;
+
+    private long[] itemIds;
+    private long[] rowItemIds;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        itemIds = new long[items];
+        rowItemIds = new long[items * ROWS_PER_ITEM];
+        for (int i = 0; i < items; i++) {
+            itemIds[i] = 1_000 + i * 7L;
+        }
+        for (int i = 0; i < rowItemIds.length; i++) {
+            rowItemIds[i] = itemIds[random.nextInt(items)];
+        }
+    }
+
+    @Benchmark
+    public void boxed(Blackhole blackhole) {
+        Map<Long, List<Row>> byItem = new HashMap<>();
+        for (int i = 0; i < rowItemIds.length; i++) {
+            byItem.computeIfAbsent(rowItemIds[i], id -> new ArrayList<>()).add(new Row(rowItemIds[i], i));
+        }
+        for (long itemId : itemIds) {
+            blackhole.consume(byItem.getOrDefault(itemId, List.of()));
+        }
+    }
+
+    @Benchmark
+    public void primitive(Blackhole blackhole) {
+        LongObjectHashMap<List<Row>> byItem = new LongObjectHashMap<>();
+        for (int i = 0; i < rowItemIds.length; i++) {
+            byItem.computeIfAbsent(rowItemIds[i], id -> new ArrayList<>()).add(new Row(rowItemIds[i], i));
+        }
+        for (long itemId : itemIds) {
+            blackhole.consume(byItem.getOrDefault(itemId, List.of()));
+        }
+    }
+
+    private record Row(long itemId, int index) {
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список вещей владельца с последним и следующим бронированием и комментариями.
+ * {@code heavyOwner} - владелец десятой части всех вещей, {@code randomOwner} - типичный пользователь.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemListingBenchmark {
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(ShareItDataset dataset) {
+        itemService = dataset.bean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemDto> heavyOwner() {
+        return itemService.getAllItemsByOwner(ShareItDataset.HEAVY_OWNER_ID);
+    }
+
+    @Benchmark
+    public List<ItemDto> randomOwner(ShareItDataset dataset) {
+        return itemService.getAllItemsByOwner(dataset.randomUserId());
+    }
+
+    @Benchmark
+    public ItemDto itemById(ShareItDataset dataset) {
+        return itemService.getItemById(dataset.randomItemId(), ShareItDataset.HEAVY_OWNER_ID);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск доступных вещей по слову из словаря генератора и по его фрагменту.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(ShareItDataset dataset) {
+        itemService = dataset.bean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchWord(ShareItDataset dataset) {
+        return itemService.searchAvailableItems(dataset.randomWord(), dataset.randomUserId());
+    }
+
+    @Benchmark
+    public List<ItemDto> searchFragment(ShareItDataset dataset) {
+        return itemService.searchAvailableItems(dataset.randomWord().substring(0, 3), dataset.randomUserId());
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Поднимает приложение на отдельной базе H2 и наполняет её сгенерированными данными.
+ * Размер задаётся числом бронирований: {@code -p bookings=1000|100000|1000000}.
+ * Пользователей в 50 раз, вещей в 10 раз, комментариев в 10 раз меньше, чем бронирований;
+ * пользователь {@link #HEAVY_OWNER_ID} владеет десятой частью всех вещей.
+ */
+@State(Scope.Benchmark)
+public class ShareItDataset {
+    public static final long HEAVY_OWNER_ID = 1;
+    public static final String[] WORDS = {
+        "drill", "saw", "hammer", "ladder", "tent", "kayak", "bike", "camera", "tripod", "projector",
+        "mixer", "grill", "stroller", "scooter", "tablet", "speaker", "guitar", "piano", "heater", "vacuum",
+        "cordless", "electric", "portable", "folding", "compact", "heavy", "light", "wireless", "outdoor", "kids"
+    };
+    private static final int BATCH = 10_000;
+
+    @Param({"1000"})
+    public int bookings;
+
+    public ConfigurableApplicationContext context;
+    public int users;
+    public int items;
+    public Random random;
+
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        arguments.addAll(arguments());
+        // аргументы командной строки перекрывают application-test.properties
+        context = customize(new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test"))
+                .run(arguments.toArray(new String[0]));
+        jdbc = context.getBean(JdbcTemplate.class);
+        random = new Random(42);
+        users = Math.max(20, bookings / 50);
+        items = Math.max(20, bookings / 10);
+        insertUsers();
+        insertItems();
+        insertBookings();
+        insertComments();
+        restartIds();
+        // индексы и сводки бронирований строятся при старте, до вставки данных
+        context.getBeanProvider(InMemoryItemSearchEngine.class).ifAvailable(InMemoryItemSearchEngine::rebuild);
+        context.getBean(ItemAvailabilityIndex.class).rebuild();
+        context.getBean(ItemBookingSummaryService.class).refreshOutdated();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Дополнительные свойства приложения для наследников.
+     */
+    protected List<String> arguments() {
+        return List.of();
+    }
+
+    protected SpringApplicationBuilder customize(SpringApplicationBuilder builder) {
+        return builder;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomUserId() {
+        return 1 + random.nextInt(users);
+    }
+
+    public long randomItemId() {
+        return 1 + random.nextInt(items);
+    }
+
+    public String randomWord() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private void insertUsers() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[]{id, "user " + id, "user" + id + "@example.com"});
+        }
+        batch("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", rows);
+    }
+
+    private void insertItems() {
+        int heavyOwnerItems = items / 10;
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            long ownerId = id <= heavyOwnerItems ? HEAVY_OWNER_ID : 2 + random.nextInt(users - 1);
+            String name = randomWord() + " " + randomWord();
+            String description = randomWord() + " " + randomWord() + " " + randomWord() + " " + randomWord();
+            rows.add(new Object[]{id, name, description, random.nextInt(10) > 0, ownerId});
+        }
+        batch("INSERT INTO items (id, name, description, available, owner_id) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= bookings; id++) {
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24 * 5));
+            int roll = random.nextInt(10);
+            String status = roll < 7 ? "APPROVED" : roll < 9 ? "WAITING" : "REJECTED";
+            rows.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(end), status,
+                    randomItemId(), randomUserId()});
+            if (rows.size() == BATCH) {
+                batch("INSERT INTO bookings (id, start_date, end_date, status, item_id, booker_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        batch("INSERT INTO bookings (id, start_date, end_date, status, item_id, booker_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertComments() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= bookings / 10; id++) {
+            rows.add(new Object[]{id, "great " + randomWord(), Timestamp.valueOf(now.minusHours(id)),
+                    randomItemId(), randomUserId()});
+        }
+        batch("INSERT INTO comments (id, text, created, item_id, author_id) VALUES (?, ?, ?, ?, ?)", rows);
+        jdbc.update("UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id)");
+    }
+
+    private void restartIds() {
+        // оптимизатор pooled-lo выдаёт id начиная со значения последовательности
+        restartSequence("users_seq", users + 1);
+        restartSequence("items_seq", items + 1);
+        restartSequence("bookings_seq", bookings + 1);
+        restartSequence("comments_seq", bookings / 10 + 1);
+    }
+
+    private void restartSequence(String sequence, long next) {
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+        }
+    }
+}
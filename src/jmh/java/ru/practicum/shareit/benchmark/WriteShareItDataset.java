@@ -0,0 +1,22 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Набор данных с настраиваемым размером пакета JDBC: {@code jdbcBatchSize=1} отправляет каждую вставку
+ * отдельным обращением к базе, как это было с IDENTITY.
+ */
+@State(Scope.Benchmark)
+public class WriteShareItDataset extends ShareItDataset {
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    @Override
+    protected List<String> arguments() {
+        return List.of("--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставки в секунду: каждая операция сохраняет {@link #ROWS} строк в одной транзакции,
+ * ссылки на владельцев, вещи и авторов берутся без загрузки.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(WriteThroughputBenchmark.ROWS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WriteThroughputBenchmark {
+    static final int ROWS = 100;
+
+    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private CommentRepository commentRepository;
+    private TransactionTemplate transactionTemplate;
+    private LocalDateTime start;
+
+    @Setup
+    public void setUp(WriteShareItDataset dataset) {
+        userRepository = dataset.bean(UserRepository.class);
+        itemRepository = dataset.bean(ItemRepository.class);
+        bookingRepository = dataset.bean(BookingRepository.class);
+        commentRepository = dataset.bean(CommentRepository.class);
+        transactionTemplate = new TransactionTemplate(dataset.bean(PlatformTransactionManager.class));
+        start = LocalDateTime.now().plusYears(3);
+    }
+
+    @Benchmark
+    public List<Item> insertItems(WriteShareItDataset dataset) {
+        return transactionTemplate.execute(status -> {
+            List<Item> items = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                items.add(new Item(null, dataset.randomWord(), dataset.randomWord() + " " + dataset.randomWord(),
+                        true, userRepository.getReferenceById(dataset.randomUserId())));
+            }
+            return itemRepository.saveAll(items);
+        });
+    }
+
+    @Benchmark
+    public List<Booking> insertBookings(WriteShareItDataset dataset) {
+        return transactionTemplate.execute(status -> {
+            List<Booking> bookings = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                start = start.plusMinutes(1);
+                bookings.add(new Booking(null, start, start.plusHours(1), BookingStatus.WAITING,
+                        itemRepository.getReferenceById(dataset.randomItemId()),
+                        userRepository.getReferenceById(dataset.randomUserId())));
+            }
+            return bookingRepository.saveAll(bookings);
+        });
+    }
+
+    @Benchmark
+    public List<Comment> insertComments(WriteShareItDataset dataset) {
+        return transactionTemplate.execute(status -> {
+            List<Comment> comments = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                comments.add(new Comment(null, "great " + dataset.randomWord(), LocalDateTime.now(),
+                        itemRepository.getReferenceById(dataset.randomItemId()),
+                        userRepository.getReferenceById(dataset.randomUserId())));
+            }
+            return commentRepository.saveAll(comments);
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Дерево полуоткрытых интервалов [start, end): АВЛ-дерево, упорядоченное по началу и id,
+ * в каждом узле которого хранится наибольший конец интервала в поддереве.
+ * Вставка и удаление занимают O(log n), поиск пересечений — O(log n + k). Не потокобезопасно.
+ */
+public class IntervalTree {
+    public static final Comparator<Interval> ORDER = Comparator.comparing(Interval::start)
+            .thenComparing(Interval::id);
+
+    private Node root;
+    private int size;
+    private boolean changed;
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Добавляет интервал; интервал с тем же началом и id заменяется.
+     */
+    public void insert(Interval interval) {
+        changed = false;
+        root = insert(root, interval);
+        if (changed) {
+            size++;
+        }
+    }
+
+    public boolean remove(Interval interval) {
+        changed = false;
+        root = remove(root, interval);
+        if (changed) {
+            size--;
+        }
+        return changed;
+    }
+
+    /**
+     * Интервалы, пересекающиеся с [from, to), в порядке начала.
+     */
+    public List<Interval> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private Node insert(Node node, Interval interval) {
+        if (node == null) {
+            changed = true;
+            return new Node(interval);
+        }
+        int comparison = ORDER.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = insert(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = ORDER.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = remove(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            changed = true;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = removeFirst(node.right);
+        }
+        return balance(node);
+    }
+
+    private Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+
+    private void collect(Node node, LocalDateTime from, LocalDateTime to, List<Interval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (!node.interval.start().isBefore(to)) {
+            return;
+        }
+        if (node.interval.end().isAfter(from)) {
+            result.add(node.interval);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.interval.end();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    public record Interval(Long id, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static class Node {
+        private Interval interval;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.availability.IntervalTree.Interval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Календари подтверждённых бронирований по вещам: занятые интервалы находятся по дереву интервалов,
+ * без обхода всех бронирований вещи. Служит только для чтения свободных окон; проверка пересечений
+ * при бронировании и подтверждении идёт запросом к базе под блокировкой вещи.
+ * <p>
+ * Изменения применяются после фиксации транзакции. Пока транзакция, изменившая бронирования вещи,
+ * не завершена, и до построения индекса при старте ответы по вещи берутся из базы.
+ * Индекс знает только об изменениях, прошедших через {@link #update}, в пределах одного экземпляра приложения,
+ * поэтому при нескольких экземплярах может отставать от базы.
+ * Устаревший календарь перечитывается из основной базы в отдельной транзакции, даже если вызывающий
+ * читает из реплики: отстающая реплика не попадает в индекс.
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+    private static final IntervalTree EMPTY = new IntervalTree();
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate reloadTransaction;
+    private final Map<Long, ItemCalendar> calendars = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean ready;
+
+    @Autowired
+    public ItemAvailabilityIndex(BookingRepository bookingRepository, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.reloadTransaction = new TransactionTemplate(transactionManager);
+        this.reloadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<Object[]> rows = bookingRepository.streamIntervalsByStatus(BookingStatus.APPROVED)) {
+            calendars.values().forEach(ItemCalendar::clear);
+            rows.forEach(row -> calendars.computeIfAbsent((Long) row[1], itemId -> new ItemCalendar())
+                    .put(toInterval(row)));
+            ready = true;
+            log.info("Availability index built for {} items", calendars.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Подтверждённые бронирования вещи, пересекающиеся с [from, to), в порядке начала.
+     */
+    public List<Interval> findBooked(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<Interval> indexed = query(itemId, tree -> tree.overlapping(from, to));
+        if (indexed != null) {
+            return indexed;
+        }
+        return bookingRepository.findByItemsAndStatusWithin(List.of(itemId), BookingStatus.APPROVED, from, to)
+                .stream()
+                .map(booking -> new Interval(booking.getId(), booking.getStartDate(), booking.getEndDate()))
+                .sorted(IntervalTree.ORDER)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Запоминает текущие статусы бронирований: подтверждённые попадают в календарь, остальные удаляются из него.
+     * Вызывается в транзакции под блокировкой вещей, календарь меняется после её фиксации.
+     */
+    public void update(Collection<Booking> bookings) {
+        List<Change> changes = bookings.stream()
+                .map(booking -> new Change(booking.getItem().getId(),
+                        new Interval(booking.getId(), booking.getStartDate(), booking.getEndDate()),
+                        booking.getStatus() == BookingStatus.APPROVED))
+                .collect(Collectors.toList());
+        Set<Long> itemIds = changes.stream()
+                .map(Change::itemId)
+                .collect(Collectors.toSet());
+
+        lock.writeLock().lock();
+        try {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                changes.forEach(this::apply);
+                return;
+            }
+            itemIds.forEach(itemId -> calendars.computeIfAbsent(itemId, id -> new ItemCalendar()).begin());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(itemIds, changes, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void complete(Set<Long> itemIds, List<Change> changes, boolean committed) {
+        lock.writeLock().lock();
+        try {
+            if (committed) {
+                changes.forEach(this::apply);
+            }
+            itemIds.forEach(itemId -> calendars.get(itemId).end());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        ItemCalendar calendar = calendars.computeIfAbsent(change.itemId(), itemId -> new ItemCalendar());
+        if (change.approved()) {
+            calendar.put(change.interval());
+        } else {
+            calendar.remove(change.interval().id());
+        }
+    }
+
+    /**
+     * Отвечает по календарю вещи или возвращает null, если ответ нужно взять из базы.
+     * Календарь, изменения которого могли примениться не в порядке фиксации, перечитывается.
+     */
+    private <T> T query(Long itemId, Function<IntervalTree, T> query) {
+        long generation;
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return null;
+            }
+            ItemCalendar calendar = calendars.get(itemId);
+            if (calendar == null) {
+                return query.apply(EMPTY);
+            }
+            if (calendar.pending > 0) {
+                return null;
+            }
+            if (!calendar.stale) {
+                return query.apply(calendar.tree);
+            }
+            generation = calendar.generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ItemCalendar loaded = reloadTransaction.execute(status -> load(itemId));
+        T result = query.apply(loaded.tree);
+
+        lock.writeLock().lock();
+        try {
+            ItemCalendar calendar = calendars.get(itemId);
+            // за время чтения никто не менял бронирования вещи, значит прочитанное актуально
+            if (calendar.pending == 0 && calendar.generation == generation) {
+                calendar.replaceWith(loaded);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return result;
+    }
+
+    private ItemCalendar load(Long itemId) {
+        ItemCalendar loaded = new ItemCalendar();
+        bookingRepository.findIntervalsByItemAndStatus(itemId, BookingStatus.APPROVED).stream()
+                .map(ItemAvailabilityIndex::toInterval)
+                .forEach(loaded::put);
+        return loaded;
+    }
+
+    private static Interval toInterval(Object[] row) {
+        return new Interval((Long) row[0], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+    }
+
+    private record Change(Long itemId, Interval interval, boolean approved) {
+    }
+
+    private static class ItemCalendar {
+        private IntervalTree tree = new IntervalTree();
+        private Map<Long, Interval> intervals = new HashMap<>();
+        private int pending;
+        private long generation;
+        private boolean stale;
+
+        void put(Interval interval) {
+            Interval previous = intervals.put(interval.id(), interval);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            tree.insert(interval);
+        }
+
+        void remove(Long bookingId) {
+            Interval previous = intervals.remove(bookingId);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+        }
+
+        void clear() {
+            tree = new IntervalTree();
+            intervals = new HashMap<>();
+        }
+
+        void replaceWith(ItemCalendar loaded) {
+            tree = loaded.tree;
+            intervals = loaded.intervals;
+            stale = false;
+        }
+
+        // изменения двух транзакций, начатых до завершения друг друга, могут примениться в обратном порядке
+        void begin() {
+            if (pending > 0) {
+                stale = true;
+            }
+            pending++;
+            generation++;
+        }
+
+        void end() {
+            pending--;
+        }
+    }
+}
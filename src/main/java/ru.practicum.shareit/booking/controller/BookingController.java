@@ -1,24 +1,42 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/bookings")
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -29,6 +47,23 @@ public class BookingController {
         return ResponseEntity.ok(bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingDto>> createBookings(
+            @RequestHeader("X-Sharer-User-Id") Long bookerId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid BookingCreateDto> bookingCreateDtos) {
+        List<BookingDto> bookings = bookingService.createBookings(bookingCreateDtos, bookerId);
+        return ResponseEntity.ok(bookings);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<List<BookingDto>> updateBookingStatuses(
+            @RequestParam Boolean approved,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> bookingIds) {
+        List<BookingDto> bookings = bookingService.updateBookingStatuses(bookingIds, approved, ownerId);
+        return ResponseEntity.ok(bookings);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<BookingDto> updateBookingStatus(
             @PathVariable Long bookingId,
@@ -48,17 +83,77 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<List<BookingDto>> getBookingsByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "state", required = false, defaultValue = "ALL") String state,
+            @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest request) {
+        BookingState bookingState = BookingState.from(state);
+        // ETag берётся до выборки: изменение между запросами даст новый список под старым ETag, а не наоборот
+        String entityTag = bookingService.getBookingsEntityTag(userId, bookingState);
+        if (entityTag != null && request.checkNotModified(entityTag)) {
+            return null;
+        }
+        List<BookingDto> bookings = bookingService.getBookingsByUser(userId, bookingState, from, size, cursor);
+        return withNextCursor(bookings, size, entityTag);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByUser(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", required = false, defaultValue = "ALL") String state) {
-        List<BookingDto> bookings = bookingService.getBookingsByUser(userId, state);
-        return ResponseEntity.ok(bookings);
+        BookingState bookingState = BookingState.from(state);
+        StreamingResponseBody body = out -> bookingService.streamBookingsByUser(userId, bookingState,
+                ndjsonWriter(out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<List<BookingDto>> getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(name = "state", required = false, defaultValue = "ALL") String state,
+            @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        List<BookingDto> bookings = bookingService.getBookingsByOwner(ownerId, BookingState.from(state), from, size, cursor);
+        return withNextCursor(bookings, size, null);
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam(name = "state", required = false, defaultValue = "ALL") String state) {
-        List<BookingDto> bookings = bookingService.getBookingsByOwner(ownerId, state);
-        return ResponseEntity.ok(bookings);
+        BookingState bookingState = BookingState.from(state);
+        // тело пишется в другом потоке, когда статус уже отправлен: ошибки владельца выявляются здесь
+        bookingService.checkOwner(ownerId);
+        StreamingResponseBody body = out -> bookingService.streamBookingsByOwner(ownerId, bookingState,
+                ndjsonWriter(out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, Integer size,
+                                                            String entityTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (entityTag != null) {
+            response.eTag(entityTag).varyBy("X-Sharer-User-Id");
+        }
+        if (size == null || bookings.size() < size) {
+            return response.body(bookings);
+        }
+        BookingDto last = bookings.get(bookings.size() - 1);
+        String nextCursor = new KeysetCursor(last.getStartDate(), last.getId()).encode();
+        return response.header(NEXT_CURSOR_HEADER, nextCursor).body(bookings);
+    }
+
+    private Consumer<BookingDto> ndjsonWriter(OutputStream out) {
+        return booking -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 }
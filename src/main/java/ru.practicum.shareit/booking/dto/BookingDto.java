@@ -24,4 +24,12 @@ public class BookingDto {
     private BookingStatus status;
     private UserDto booker;
     private ItemSimpleDto item;
+
+    // для выборки DTO напрямую запросом, без загрузки сущностей
+    public BookingDto(Long id, LocalDateTime startDate, LocalDateTime endDate, BookingStatus status,
+                      Long bookerId, String bookerName, String bookerEmail,
+                      Long itemId, String itemName, String itemDescription) {
+        this(id, startDate, endDate, status, new UserDto(bookerId, bookerName, bookerEmail),
+                new ItemSimpleDto(itemId, itemName, itemDescription));
+    }
 }
\ No newline at end of file
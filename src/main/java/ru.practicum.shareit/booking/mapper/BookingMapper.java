@@ -4,10 +4,18 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemSimpleDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
 
 @Component
 public class BookingMapper {
+    public BookingDto toBookingDto(Booking booking) {
+        Item item = booking.getItem();
+        return toBookingDto(booking, UserMapper.toDto(booking.getBooker()),
+                new ItemSimpleDto(item.getId(), item.getName(), item.getDescription()));
+    }
+
     public BookingDto toBookingDto(Booking booking, UserDto booker, ItemSimpleDto item) {
         BookingDto dto = new BookingDto();
         dto.setId(booking.getId());
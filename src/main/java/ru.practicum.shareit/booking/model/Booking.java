@@ -12,13 +12,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_ITEM_AND_BOOKER,
+        attributeNodes = {@NamedAttributeNode("item"), @NamedAttributeNode("booker")})
 @Setter
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String WITH_ITEM_AND_BOOKER = "Booking.withItemAndBooker";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -31,14 +36,22 @@ public class Booking {
     @Column(nullable = false)
     private BookingStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "id")
     private User booker;
 
+    @Version
+    private Long version;
+
+    public Booking(Long id, LocalDateTime startDate, LocalDateTime endDate, BookingStatus status, Item item,
+                   User booker) {
+        this(id, startDate, endDate, status, item, booker, null);
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.exception.InvalidInputException;
+
+public enum BookingState {
+    ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED;
+
+    /**
+     * Меняется ли выборка со временем, даже если сами бронирования не менялись.
+     */
+    public boolean dependsOnTime() {
+        return this == CURRENT || this == PAST || this == FUTURE;
+    }
+
+    public static BookingState from(String state) {
+        try {
+            return valueOf(state.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Unknown state: " + state);
+        }
+    }
+}
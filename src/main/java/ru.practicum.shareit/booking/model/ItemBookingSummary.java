@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Последнее и следующее подтверждённое бронирование вещи на момент расчёта.
+ * Запись актуальна до {@code validUntil} - ближайшего момента, когда начнётся следующее
+ * или закончится текущее бронирование; {@code null} означает, что со временем она не устареет.
+ */
+@Entity
+@Table(name = "item_booking_summaries")
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    private Long itemId;
+
+    private Long lastBookingId;
+
+    private LocalDateTime lastStart;
+
+    private LocalDateTime lastEnd;
+
+    private Long nextBookingId;
+
+    private LocalDateTime nextStart;
+
+    private LocalDateTime nextEnd;
+
+    private LocalDateTime validUntil;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public boolean isValidAt(LocalDateTime now) {
+        return validUntil == null || validUntil.isAfter(now);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ItemBookingSummary summary = (ItemBookingSummary) o;
+        return getItemId() != null && getItemId().equals(summary.getItemId());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+}
@@ -1,53 +1,171 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String FETCH_SIZE = "200";
+    String FROM_BOOKINGS = "SELECT b FROM Booking b ";
+    String BOOKING_DTOS = "SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.startDate, b.endDate, " +
+            "b.status, bk.id, bk.name, bk.email, i.id, i.name, i.description) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker bk ";
+    String AFTER_CURSOR = "AND (b.startDate < :cursorStart OR (b.startDate = :cursorStart AND b.id < :cursorId)) ";
+    String NEWEST_FIRST = "ORDER BY b.startDate DESC, b.id DESC";
+
     List<Booking> findByBooker_IdAndItem_IdAndStatusAndEndDateBefore(Long bookerId, Long itemId,
                                                                      BookingStatus status, LocalDateTime endDate);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND " +
-            "(:state = 'ALL' OR " +
-            "(:state = 'CURRENT' AND b.status = 'APPROVED' AND b.endDate > :now AND b.startDate < :now) OR " +
-            "(:state = 'PAST' AND b.status = 'APPROVED' AND b.endDate < :now) OR " +
-            "(:state = 'FUTURE' AND b.status = 'APPROVED' AND b.startDate > :now) OR " +
-            "(:state = 'WAITING' AND b.status = 'WAITING') OR " +
-            "(:state = 'REJECTED' AND b.status = 'REJECTED')) " +
-            "ORDER BY b.startDate DESC")
-    List<Booking> findBookingsByUserWithState(@Param("userId") Long userId,
-                                              @Param("state") String state,
-                                              @Param("now") LocalDateTime now);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId AND " +
-            "(:state = 'ALL' OR " +
-            "(:state = 'CURRENT' AND b.status = 'APPROVED' AND b.endDate > :now AND b.startDate < :now) OR " +
-            "(:state = 'PAST' AND b.status = 'APPROVED' AND b.endDate < :now) OR " +
-            "(:state = 'FUTURE' AND b.status = 'APPROVED' AND b.startDate > :now) OR " +
-            "(:state = 'WAITING' AND b.status = 'WAITING') OR " +
-            "(:state = 'REJECTED' AND b.status = 'REJECTED')) " +
-            "ORDER BY b.startDate DESC")
-    List<Booking> findBookingsByOwnerWithState(@Param("ownerId") Long ownerId,
-                                               @Param("state") String state,
-                                               @Param("now") LocalDateTime now);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.status = :status AND b.endDate < :now ORDER BY b.endDate DESC")
-    List<Booking> findLastBookings(@Param("itemId") Long itemId,
-                                   @Param("status") BookingStatus status,
-                                   @Param("now") LocalDateTime now);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.status = :status AND b.startDate > :now ORDER BY b.startDate ASC")
-    List<Booking> findNextBookings(@Param("itemId") Long itemId,
-                                   @Param("status") BookingStatus status,
-                                   @Param("now") LocalDateTime now);
-
-    List<Booking> findByItem_Id(Long itemId);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findWithItemAndBookerById(Long id);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(FROM_BOOKINGS + "WHERE b.id IN :ids")
+    List<Booking> findAllWithItemAndBookerByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(FROM_BOOKINGS + "WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.startDate < :to AND b.endDate > :from")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Booking> findByItemsAndStatusWithin(@Param("itemIds") Collection<Long> itemIds,
+                                             @Param("status") BookingStatus status,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    @Query(BOOKING_DTOS + "WHERE b.booker.id = :userId " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findAllByBooker(@Param("userId") Long userId,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE b.booker.id = :userId AND b.status = :status " +
+            "AND b.startDate < :now AND b.endDate > :now " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findCurrentByBooker(@Param("userId") Long userId,
+                                           @Param("status") BookingStatus status,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE b.booker.id = :userId AND b.status = :status " +
+            "AND b.endDate < :now " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findPastByBooker(@Param("userId") Long userId,
+                                        @Param("status") BookingStatus status,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE b.booker.id = :userId AND b.status = :status " +
+            "AND b.startDate > :now " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findFutureByBooker(@Param("userId") Long userId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE b.booker.id = :userId AND b.status = :status " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findByBookerAndStatus(@Param("userId") Long userId,
+                                             @Param("status") BookingStatus status,
+                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE i.owner.id = :ownerId " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findAllByOwner(@Param("ownerId") Long ownerId,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE i.owner.id = :ownerId AND b.status = :status " +
+            "AND b.startDate < :now AND b.endDate > :now " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findCurrentByOwner(@Param("ownerId") Long ownerId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE i.owner.id = :ownerId AND b.status = :status " +
+            "AND b.endDate < :now " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findPastByOwner(@Param("ownerId") Long ownerId,
+                                       @Param("status") BookingStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE i.owner.id = :ownerId AND b.status = :status " +
+            "AND b.startDate > :now " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findFutureByOwner(@Param("ownerId") Long ownerId,
+                                         @Param("status") BookingStatus status,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    @Query(BOOKING_DTOS + "WHERE i.owner.id = :ownerId AND b.status = :status " + AFTER_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<BookingDto> findByOwnerAndStatus(@Param("ownerId") Long ownerId,
+                                            @Param("status") BookingStatus status,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    @Query(FROM_BOOKINGS + "WHERE b.item.id IN :itemIds AND b.status = :status AND (" +
+            "b.endDate = (SELECT MAX(l.endDate) FROM Booking l " +
+            "WHERE l.item.id = b.item.id AND l.status = :status AND l.endDate < :now) OR " +
+            "b.startDate = (SELECT MIN(n.startDate) FROM Booking n " +
+            "WHERE n.item.id = b.item.id AND n.status = :status AND n.startDate > :now))")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Booking> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.item.id, MIN(b.endDate) FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.endDate >= :now GROUP BY b.item.id")
+    List<Object[]> findEarliestEndDates(@Param("itemIds") Collection<Long> itemIds,
+                                        @Param("status") BookingStatus status,
+                                        @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.id, b.item.id, b.startDate, b.endDate FROM Booking b WHERE b.status = :status")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+    Stream<Object[]> streamIntervalsByStatus(@Param("status") BookingStatus status);
+
+    @Query("SELECT b.id, b.item.id, b.startDate, b.endDate FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = :status")
+    List<Object[]> findIntervalsByItemAndStatus(@Param("itemId") Long itemId, @Param("status") BookingStatus status);
+
+    boolean existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(Long itemId, BookingStatus status,
+                                                                      LocalDateTime endDate, LocalDateTime startDate);
+
+    boolean existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterAndIdNot(Long itemId, BookingStatus status,
+                                                                              LocalDateTime endDate,
+                                                                              LocalDateTime startDate,
+                                                                              Long bookingId);
 }
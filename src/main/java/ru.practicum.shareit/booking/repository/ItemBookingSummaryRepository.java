@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Query("SELECT s.itemId FROM ItemBookingSummary s WHERE s.validUntil <= :now ORDER BY s.itemId")
+    List<Long> findStaleItemIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE NOT EXISTS " +
+            "(SELECT s.itemId FROM ItemBookingSummary s WHERE s.itemId = i.id) ORDER BY i.id")
+    List<Long> findItemIdsWithoutSummary(Pageable pageable);
+}
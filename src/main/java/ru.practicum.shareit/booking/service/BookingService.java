@@ -2,17 +2,43 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto createBooking(BookingCreateDto bookingCreateDto, Long bookerId);
 
+    List<BookingDto> createBookings(List<BookingCreateDto> bookingCreateDtos, Long bookerId);
+
     BookingDto updateBookingStatus(Long bookingId, Boolean approved, Long ownerId);
 
+    List<BookingDto> updateBookingStatuses(List<Long> bookingIds, Boolean approved, Long ownerId);
+
     BookingDto getBookingById(Long bookingId, Long userId);
 
-    List<BookingDto> getBookingsByUser(Long userId, String state);
+    List<BookingDto> getBookingsByUser(Long userId, BookingState state, Integer from, Integer size, String cursor);
+
+    /**
+     * ETag любой страницы {@link #getBookingsByUser} по счётчику изменений бронирований пользователя.
+     * {@code null}, если пользователя нет или выборка состояния меняется со временем.
+     */
+    String getBookingsEntityTag(Long userId, BookingState state);
+
+    List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size, String cursor);
+
+    void streamBookingsByUser(Long userId, BookingState state, Consumer<BookingDto> consumer);
+
+    /**
+     * Проверяет, что пользователь существует и владеет хотя бы одной вещью.
+     * Вызывается до {@link #streamBookingsByOwner}, пока ответ ещё можно заменить ошибкой.
+     */
+    void checkOwner(Long ownerId);
 
-    List<BookingDto> getBookingsByOwner(Long ownerId, String state);
+    /**
+     * Передаёт бронирования вещей владельца потребителю. Владельца не проверяет: это делает
+     * {@link #checkOwner} до начала потоковой выдачи.
+     */
+    void streamBookingsByOwner(Long ownerId, BookingState state, Consumer<BookingDto> consumer);
 }
\ No newline at end of file
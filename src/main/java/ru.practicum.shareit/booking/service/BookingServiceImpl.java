@@ -1,61 +1,82 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.collection.LongArrayList;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+import ru.practicum.shareit.event.DomainEvent.BookingCreated;
+import ru.practicum.shareit.event.DomainEvent.BookingStatusChanged;
+import ru.practicum.shareit.event.DomainEventPublisher;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InvalidInputException;
-import ru.practicum.shareit.item.dto.ItemSimpleDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
-import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingServiceImpl implements BookingService {
-
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-    private final UserService userService;
-    private final ItemService itemService;
     private final BookingMapper bookingMapper;
+    private final ItemBookingSummaryService summaryService;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final DomainEventPublisher eventPublisher;
 
     @Autowired
     public BookingServiceImpl(
             BookingRepository bookingRepository,
             UserRepository userRepository,
             ItemRepository itemRepository,
-            UserService userService,
-            ItemService itemService,
-            BookingMapper bookingMapper
+            BookingMapper bookingMapper,
+            ItemBookingSummaryService summaryService,
+            ItemAvailabilityIndex availabilityIndex,
+            DomainEventPublisher eventPublisher
     ) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
-        this.userService = userService;
-        this.itemService = itemService;
         this.bookingMapper = bookingMapper;
+        this.summaryService = summaryService;
+        this.availabilityIndex = availabilityIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public BookingDto createBooking(BookingCreateDto bookingCreateDto, Long bookerId) {
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new IdNotFoundException("Booker not found with id: " + bookerId));
 
-        Item item = itemRepository.findById(bookingCreateDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingCreateDto.getItemId())
                 .orElseThrow(() -> new IdNotFoundException("Item not found with id: " + bookingCreateDto.getItemId()));
 
         if (!item.getAvailable()) {
@@ -67,17 +88,10 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidInputException("End date must be after start date");
         }
 
-        // Проверка на пересечение бронирований
-        List<Booking> existingBookings = bookingRepository.findByItem_Id(item.getId());
-        for (Booking existing : existingBookings) {
-            if (existing.getStatus() == BookingStatus.APPROVED) {
-                if (isDateRangeOverlapping(
-                        bookingCreateDto.getStartDate(), bookingCreateDto.getEndDate(),
-                        existing.getStartDate(), existing.getEndDate()
-                )) {
-                    throw new InvalidInputException("Item is already booked for this period");
-                }
-            }
+        // Проверка на пересечение бронирований под блокировкой вещи
+        if (bookingRepository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfter(item.getId(),
+                BookingStatus.APPROVED, bookingCreateDto.getEndDate(), bookingCreateDto.getStartDate())) {
+            throw new InvalidInputException("Item is already booked for this period");
         }
 
         Booking booking = new Booking();
@@ -88,17 +102,15 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(booker);
 
         Booking savedBooking = bookingRepository.save(booking);
+        userRepository.incrementBookingsRevisions(List.of(bookerId));
+        eventPublisher.publish(new BookingCreated(savedBooking.getId(), item.getId()));
         return toBookingDto(savedBooking);
     }
 
-    private boolean isDateRangeOverlapping(LocalDateTime start1, LocalDateTime end1,
-                                           LocalDateTime start2, LocalDateTime end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
-    }
-
     @Override
+    @Transactional
     public BookingDto updateBookingStatus(Long bookingId, Boolean approved, Long ownerId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new IdNotFoundException("Booking not found with id: " + bookingId));
 
         Item item = booking.getItem();
@@ -106,19 +118,116 @@ public class BookingServiceImpl implements BookingService {
             throw new InvalidInputException("Only owner can update booking status");
         }
 
+        itemRepository.findByIdForUpdate(item.getId());
         if (approved) {
+            if (bookingRepository.existsByItem_IdAndStatusAndStartDateBeforeAndEndDateAfterAndIdNot(item.getId(),
+                    BookingStatus.APPROVED, booking.getEndDate(), booking.getStartDate(), booking.getId())) {
+                throw new InvalidInputException("Item is already booked for this period");
+            }
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
 
         Booking updatedBooking = bookingRepository.save(booking);
+        userRepository.incrementBookingsRevisions(List.of(updatedBooking.getBooker().getId()));
+        summaryService.refresh(List.of(item.getId()));
+        availabilityIndex.update(List.of(updatedBooking));
+        eventPublisher.publish(new BookingStatusChanged(updatedBooking.getId(), item.getId(),
+                updatedBooking.getStatus()));
         return toBookingDto(updatedBooking);
     }
 
     @Override
+    @Transactional
+    public List<BookingDto> createBookings(List<BookingCreateDto> bookingCreateDtos, Long bookerId) {
+        User booker = userRepository.findById(bookerId)
+                .orElseThrow(() -> new IdNotFoundException("Booker not found with id: " + bookerId));
+
+        for (BookingCreateDto bookingCreateDto : bookingCreateDtos) {
+            if (!bookingCreateDto.getStartDate().isBefore(bookingCreateDto.getEndDate())) {
+                throw new InvalidInputException("End date must be after start date");
+            }
+        }
+
+        Set<Long> itemIds = bookingCreateDtos.stream()
+                .map(BookingCreateDto::getItemId)
+                .collect(Collectors.toSet());
+        List<Item> lockedItems = itemRepository.findAllByIdForUpdate(itemIds);
+        LongObjectHashMap<Item> items = new LongObjectHashMap<>(lockedItems.size());
+        lockedItems.forEach(item -> items.put(item.getId(), item));
+
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingCreateDto bookingCreateDto : bookingCreateDtos) {
+            Item item = items.get(bookingCreateDto.getItemId());
+            if (item == null) {
+                throw new IdNotFoundException("Item not found with id: " + bookingCreateDto.getItemId());
+            }
+            if (!item.getAvailable()) {
+                throw new InvalidInputException("Item is not available for booking");
+            }
+            bookings.add(new Booking(null, bookingCreateDto.getStartDate(), bookingCreateDto.getEndDate(),
+                    BookingStatus.WAITING, item, booker));
+        }
+        checkNoOverlaps(bookings);
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        userRepository.incrementBookingsRevisions(List.of(bookerId));
+        eventPublisher.publishAll(savedBookings.stream()
+                .map(booking -> new BookingCreated(booking.getId(), booking.getItem().getId()))
+                .toList());
+        return savedBookings.stream()
+                .map(this::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDto> updateBookingStatuses(List<Long> bookingIds, Boolean approved, Long ownerId) {
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        List<Booking> found = bookingRepository.findAllWithItemAndBookerByIdIn(ids);
+        LongObjectHashMap<Booking> bookings = new LongObjectHashMap<>(found.size());
+        found.forEach(booking -> bookings.put(booking.getId(), booking));
+        if (bookings.size() < ids.size()) {
+            List<Long> missing = ids.stream()
+                    .filter(id -> !bookings.containsKey(id))
+                    .collect(Collectors.toList());
+            throw new IdNotFoundException("Bookings not found with ids: " + missing);
+        }
+
+        Set<Long> itemIds = new HashSet<>();
+        for (Booking booking : found) {
+            if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+                throw new InvalidInputException("Only owner can update booking status");
+            }
+            itemIds.add(booking.getItem().getId());
+        }
+
+        itemRepository.findAllByIdForUpdate(itemIds);
+        if (approved) {
+            checkNoOverlaps(found);
+        }
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        found.forEach(booking -> booking.setStatus(status));
+        userRepository.incrementBookingsRevisions(found.stream()
+                .map(booking -> booking.getBooker().getId())
+                .collect(Collectors.toSet()));
+        summaryService.refresh(itemIds);
+        availabilityIndex.update(found);
+        eventPublisher.publishAll(found.stream()
+                .map(booking -> new BookingStatusChanged(booking.getId(), booking.getItem().getId(), status))
+                .toList());
+
+        return ids.stream()
+                .map(bookings::get)
+                .map(this::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingDto getBookingById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new IdNotFoundException("Booking not found with id: " + bookingId));
 
         if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getOwner().getId().equals(userId)) {
@@ -129,28 +238,154 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getBookingsByUser(Long userId, String state) {
-        List<Booking> bookings = bookingRepository.findBookingsByUserWithState(userId, state, LocalDateTime.now());
-        return bookings.stream().map(this::toBookingDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookingsByUser(Long userId, BookingState state, Integer from, Integer size, String cursor) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        try (Stream<BookingDto> bookings = findByBooker(userId, state, KeysetCursor.decode(cursor), page)) {
+            return bookings.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getBookingsEntityTag(Long userId, BookingState state) {
+        if (state.dependsOnTime()) {
+            return null;
+        }
+        // счётчик растёт в тех же транзакциях, что меняют бронирования пользователя, их вещи или его самого
+        return userRepository.findBookingsRevisionById(userId)
+                .map(revision -> userId + "." + revision)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size,
+                                               String cursor) {
+        checkOwner(ownerId);
+        Pageable page = OffsetPageRequest.of(from, size);
+        try (Stream<BookingDto> bookings = findByOwner(ownerId, state, KeysetCursor.decode(cursor), page)) {
+            return bookings.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamBookingsByUser(Long userId, BookingState state, Consumer<BookingDto> consumer) {
+        try (Stream<BookingDto> bookings = findByBooker(userId, state, KeysetCursor.first(), Pageable.unpaged())) {
+            bookings.forEach(consumer);
+        }
     }
 
     @Override
-    public List<BookingDto> getBookingsByOwner(Long ownerId, String state) {
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new IdNotFoundException("User not found with id: " + ownerId));
+    @Transactional(readOnly = true)
+    public void streamBookingsByOwner(Long ownerId, BookingState state, Consumer<BookingDto> consumer) {
+        try (Stream<BookingDto> bookings = findByOwner(ownerId, state, KeysetCursor.first(), Pageable.unpaged())) {
+            bookings.forEach(consumer);
+        }
+    }
 
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
-        if (items.isEmpty()) {
+    @Override
+    @Transactional(readOnly = true)
+    public void checkOwner(Long ownerId) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new IdNotFoundException("User not found with id: " + ownerId);
+        }
+
+        if (!itemRepository.existsByOwnerId(ownerId)) {
             throw new InvalidInputException("User has no items, so cannot retrieve bookings as owner");
         }
+    }
+
+    private Stream<BookingDto> findByBooker(Long userId, BookingState state, KeysetCursor position, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = position.getTimestamp();
+        Long cursorId = position.getId();
+        return switch (state) {
+            case ALL -> bookingRepository.findAllByBooker(userId, cursorStart, cursorId, page);
+            case CURRENT -> bookingRepository.findCurrentByBooker(userId, BookingStatus.APPROVED, now,
+                    cursorStart, cursorId, page);
+            case PAST -> bookingRepository.findPastByBooker(userId, BookingStatus.APPROVED, now,
+                    cursorStart, cursorId, page);
+            case FUTURE -> bookingRepository.findFutureByBooker(userId, BookingStatus.APPROVED, now,
+                    cursorStart, cursorId, page);
+            case WAITING -> bookingRepository.findByBookerAndStatus(userId, BookingStatus.WAITING,
+                    cursorStart, cursorId, page);
+            case REJECTED -> bookingRepository.findByBookerAndStatus(userId, BookingStatus.REJECTED,
+                    cursorStart, cursorId, page);
+        };
+    }
+
+    private Stream<BookingDto> findByOwner(Long ownerId, BookingState state, KeysetCursor position, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = position.getTimestamp();
+        Long cursorId = position.getId();
+        return switch (state) {
+            case ALL -> bookingRepository.findAllByOwner(ownerId, cursorStart, cursorId, page);
+            case CURRENT -> bookingRepository.findCurrentByOwner(ownerId, BookingStatus.APPROVED, now,
+                    cursorStart, cursorId, page);
+            case PAST -> bookingRepository.findPastByOwner(ownerId, BookingStatus.APPROVED, now,
+                    cursorStart, cursorId, page);
+            case FUTURE -> bookingRepository.findFutureByOwner(ownerId, BookingStatus.APPROVED, now,
+                    cursorStart, cursorId, page);
+            case WAITING -> bookingRepository.findByOwnerAndStatus(ownerId, BookingStatus.WAITING,
+                    cursorStart, cursorId, page);
+            case REJECTED -> bookingRepository.findByOwnerAndStatus(ownerId, BookingStatus.REJECTED,
+                    cursorStart, cursorId, page);
+        };
+    }
+
+    /**
+     * Проверяет, что бронирования не пересекаются ни друг с другом, ни с подтверждёнными бронированиями
+     * тех же вещей. Подтверждённые бронирования загружаются одним запросом на всё окно дат;
+     * вещи к этому моменту должны быть заблокированы.
+     */
+    private void checkNoOverlaps(Collection<Booking> candidates) {
+        Set<Booking> candidateSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidateSet.addAll(candidates);
+        LongArrayList candidateIds = new LongArrayList(candidates.size());
+        candidates.stream()
+                .map(Booking::getId)
+                .filter(Objects::nonNull)
+                .forEach(candidateIds::add);
+        candidateIds.sort();
 
-        List<Booking> bookings = bookingRepository.findBookingsByOwnerWithState(ownerId, state, LocalDateTime.now());
-        return bookings.stream().map(this::toBookingDto).collect(Collectors.toList());
+        LongObjectHashMap<List<Booking>> byItem = new LongObjectHashMap<>();
+        LocalDateTime from = LocalDateTime.MAX;
+        LocalDateTime to = LocalDateTime.MIN;
+        for (Booking booking : candidates) {
+            byItem.computeIfAbsent(booking.getItem().getId(), itemId -> new ArrayList<>()).add(booking);
+            from = booking.getStartDate().isBefore(from) ? booking.getStartDate() : from;
+            to = booking.getEndDate().isAfter(to) ? booking.getEndDate() : to;
+        }
+        for (Booking booking : bookingRepository.findByItemsAndStatusWithin(byItem.keys().boxed(),
+                BookingStatus.APPROVED, from, to)) {
+            if (!candidateIds.sortedContains(booking.getId())) {
+                byItem.get(booking.getItem().getId()).add(booking);
+            }
+        }
+
+        // в порядке начала бронирование пересекается с одним из предыдущих, если начинается раньше,
+        // чем заканчивается самое позднее из них; пересечения между уже подтверждёнными не проверяем
+        byItem.forEach((itemId, bookings) -> {
+            bookings.sort(Comparator.comparing(Booking::getStartDate));
+            LocalDateTime latestEnd = LocalDateTime.MIN;
+            LocalDateTime latestCandidateEnd = LocalDateTime.MIN;
+            for (Booking booking : bookings) {
+                boolean candidate = candidateSet.contains(booking);
+                LocalDateTime limit = candidate ? latestEnd : latestCandidateEnd;
+                if (booking.getStartDate().isBefore(limit)) {
+                    throw new InvalidInputException("Item " + itemId + " is already booked for this period");
+                }
+                latestEnd = booking.getEndDate().isAfter(latestEnd) ? booking.getEndDate() : latestEnd;
+                if (candidate && booking.getEndDate().isAfter(latestCandidateEnd)) {
+                    latestCandidateEnd = booking.getEndDate();
+                }
+            }
+        });
     }
 
     private BookingDto toBookingDto(Booking booking) {
-        UserDto booker = userService.getUserById(booking.getBooker().getId());
-        ItemSimpleDto item = itemService.getItemSimpleDto(booking.getItem().getId());
-        return bookingMapper.toBookingDto(booking, booker, item);
+        return bookingMapper.toBookingDto(booking);
     }
 }
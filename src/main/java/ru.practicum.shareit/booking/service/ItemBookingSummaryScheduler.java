@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ItemBookingSummaryScheduler {
+    private final ItemBookingSummaryService summaryService;
+
+    @Autowired
+    public ItemBookingSummaryScheduler(ItemBookingSummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    @Scheduled(cron = "${shareit.booking-summary.refresh-cron:0 * * * * *}")
+    public void refreshOutdated() {
+        summaryService.refreshOutdated();
+    }
+}
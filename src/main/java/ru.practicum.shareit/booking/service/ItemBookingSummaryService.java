@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+
+import java.util.Collection;
+
+public interface ItemBookingSummaryService {
+    /**
+     * Возвращает актуальные сводки для всех переданных вещей. Отсутствующие или устаревшие записи
+     * пересчитываются по бронированиям, но не сохраняются - чтение ничего не пишет.
+     */
+    LongObjectHashMap<ItemBookingSummary> getSummaries(Collection<Long> itemIds);
+
+    /**
+     * Пересчитывает и сохраняет сводки. Вызывающий должен держать блокировку вещей.
+     */
+    void refresh(Collection<Long> itemIds);
+
+    /**
+     * Сдвигает устаревшие сводки и создаёт недостающие, блокируя вещи пачками.
+     */
+    void refreshOutdated();
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ItemBookingSummaryServiceImpl(ItemBookingSummaryRepository summaryRepository,
+                                         BookingRepository bookingRepository,
+                                         ItemRepository itemRepository,
+                                         PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LongObjectHashMap<ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        LongObjectHashMap<ItemBookingSummary> summaries = new LongObjectHashMap<>(itemIds.size());
+        for (ItemBookingSummary summary : summaryRepository.findAllById(itemIds)) {
+            if (summary.isValidAt(now)) {
+                summaries.put(summary.getItemId(), summary);
+            }
+        }
+        List<Long> outdated = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!outdated.isEmpty()) {
+            calculate(outdated, now).forEach(summaries::put);
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        summaryRepository.saveAll(calculate(itemIds, LocalDateTime.now()).values());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOutdated() {
+        int stale = refreshInBatches(() ->
+                summaryRepository.findStaleItemIds(LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE)));
+        int missing = refreshInBatches(() ->
+                summaryRepository.findItemIdsWithoutSummary(PageRequest.of(0, BATCH_SIZE)));
+        if (stale + missing > 0) {
+            log.info("Refreshed booking summaries: {} stale, {} missing", stale, missing);
+        }
+    }
+
+    private int refreshInBatches(Supplier<List<Long>> nextBatch) {
+        int refreshed = 0;
+        List<Long> itemIds;
+        do {
+            itemIds = nextBatch.get();
+            if (!itemIds.isEmpty()) {
+                List<Long> batch = itemIds;
+                transactionTemplate.executeWithoutResult(status -> {
+                    itemRepository.findAllByIdForUpdate(batch);
+                    refresh(batch);
+                });
+                refreshed += itemIds.size();
+            }
+        } while (itemIds.size() == BATCH_SIZE);
+        return refreshed;
+    }
+
+    private Map<Long, ItemBookingSummary> calculate(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(), ItemBookingSummary::new, (a, b) -> a));
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextBookings(itemIds, BookingStatus.APPROVED, now)) {
+            Long itemId = booking.getItem().getId();
+            if (booking.getEndDate().isBefore(now)) {
+                lastBookings.merge(itemId, booking,
+                        (a, b) -> a.getEndDate().isAfter(b.getEndDate()) ? a : b);
+            } else if (booking.getStartDate().isAfter(now)) {
+                nextBookings.merge(itemId, booking,
+                        (a, b) -> a.getStartDate().isBefore(b.getStartDate()) ? a : b);
+            }
+        }
+        lastBookings.forEach((itemId, booking) -> {
+            ItemBookingSummary summary = summaries.get(itemId);
+            summary.setLastBookingId(booking.getId());
+            summary.setLastStart(booking.getStartDate());
+            summary.setLastEnd(booking.getEndDate());
+        });
+        nextBookings.forEach((itemId, booking) -> {
+            ItemBookingSummary summary = summaries.get(itemId);
+            summary.setNextBookingId(booking.getId());
+            summary.setNextStart(booking.getStartDate());
+            summary.setNextEnd(booking.getEndDate());
+            summary.setValidUntil(booking.getStartDate());
+        });
+        // последнее бронирование сменится, когда закончится ближайшее ещё не завершённое
+        for (Object[] row : bookingRepository.findEarliestEndDates(itemIds, BookingStatus.APPROVED, now)) {
+            ItemBookingSummary summary = summaries.get((Long) row[0]);
+            LocalDateTime earliestEnd = (LocalDateTime) row[1];
+            if (summary.getValidUntil() == null || earliestEnd.isBefore(summary.getValidUntil())) {
+                summary.setValidUntil(earliestEnd);
+            }
+        }
+        return summaries;
+    }
+}
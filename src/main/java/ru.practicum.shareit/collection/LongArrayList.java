@@ -0,0 +1,71 @@
+package ru.practicum.shareit.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Растущий массив примитивных {@code long} без упаковки каждого значения в {@link Long}. Не потокобезопасен.
+ */
+public class LongArrayList {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] values;
+    private int size;
+
+    public LongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongArrayList(int capacity) {
+        values = new long[Math.max(capacity, 1)];
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /**
+     * Есть ли значение в списке, отсортированном {@link #sort()}; O(log n).
+     */
+    public boolean sortedContains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Копия с упакованными значениями — для параметров запросов и других API, принимающих коллекции.
+     */
+    public List<Long> boxed() {
+        List<Long> boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boxed.add(values[i]);
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * Хеш-таблица с ключами {@code long} и открытой адресацией: ключи и значения лежат в двух массивах,
+ * без {@link Long} и узла на каждую запись, как в {@link java.util.HashMap}. Коллизии разрешаются линейным
+ * пробированием, таблица заполняется не больше чем наполовину. Значения {@code null} не допускаются — пустую
+ * ячейку обозначает {@code null}. Удаления нет: таблицы живут в пределах одного запроса. Не потокобезопасна.
+ */
+public class LongObjectHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public V get(long key) {
+        int slot = slot(key);
+        return slot < 0 ? null : value(slot);
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(long key) {
+        return slot(key) >= 0;
+    }
+
+    /**
+     * Запоминает значение и возвращает прежнее или {@code null}.
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        int index = index(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = value(index);
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        insert(index, key, value);
+        return null;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        int index = index(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return value(index);
+            }
+            index = (index + 1) & mask;
+        }
+        V value = Objects.requireNonNull(mappingFunction.apply(key), "value");
+        insert(index, key, value);
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], value(i));
+            }
+        }
+    }
+
+    public LongArrayList keys() {
+        LongArrayList result = new LongArrayList(size);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result.add(keys[i]);
+            }
+        }
+        return result;
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result.add(value(i));
+            }
+        }
+        return result;
+    }
+
+    private void insert(int index, long key, V value) {
+        keys[index] = key;
+        values[index] = value;
+        if (++size > values.length / 2) {
+            rehash();
+        }
+    }
+
+    private int slot(long key) {
+        int index = index(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // последовательные id не должны попадать в соседние ячейки, поэтому ключ перемешивается
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = index(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
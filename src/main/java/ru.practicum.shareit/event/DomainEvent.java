@@ -0,0 +1,26 @@
+package ru.practicum.shareit.event;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Событие предметной области. Записывается в outbox в транзакции изменения и доставляется
+ * {@link DomainEventHandler} после её фиксации, поэтому события несут только id, а актуальное состояние
+ * обработчик читает сам.
+ */
+public sealed interface DomainEvent {
+
+    record BookingCreated(Long bookingId, Long itemId) implements DomainEvent {
+    }
+
+    record BookingStatusChanged(Long bookingId, Long itemId, BookingStatus status) implements DomainEvent {
+    }
+
+    record ItemCreated(Long itemId) implements DomainEvent {
+    }
+
+    record ItemUpdated(Long itemId) implements DomainEvent {
+    }
+
+    record CommentAdded(Long commentId, Long itemId) implements DomainEvent {
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.event;
+
+/**
+ * Получатель событий из outbox. Доставка не реже одного раза: после сбоя или истечения аренды пакета событие
+ * придёт повторно, а порядок между повторами не гарантируется, поэтому обработка должна быть идемпотентной.
+ * Исключение любого получателя откладывает событие, и повторно его получат все получатели.
+ */
+public interface DomainEventHandler {
+    void handle(DomainEvent event);
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Записывает события в outbox в текущей транзакции: событие появляется, только если изменение зафиксировано,
+ * а запись стоит одной вставки в пакете независимо от числа получателей.
+ */
+@Component
+public class DomainEventPublisher {
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DomainEventPublisher(OutboxEventRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        publishAll(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(Collection<? extends DomainEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.saveAll(events.stream()
+                .map(event -> new OutboxEvent(null, event.getClass().getSimpleName(), toJson(event), now, 0, now))
+                .toList());
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event " + event, e);
+        }
+    }
+}
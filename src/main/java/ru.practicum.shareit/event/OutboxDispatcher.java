@@ -0,0 +1,140 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Фоновая доставка событий из outbox пакетами по {@code shareit.outbox.batch-size}.
+ * <p>
+ * Пакет выдаётся в аренду: в короткой транзакции события блокируются с пропуском занятых другими
+ * экземплярами, и их {@code availableAt} сдвигается на время повтора, которое удваивается с каждой попыткой.
+ * Доставка идёт вне транзакции, доставленные события удаляются. Не доставленные из-за ошибки или падения
+ * процесса вернутся после окончания аренды, поэтому доставка происходит не реже одного раза.
+ * <p>
+ * Запись событий не ждёт получателей: отставание копится в таблице, а диспетчер разбирает её с собственной
+ * скоростью, не больше {@link #MAX_BATCHES_PER_RUN} пакетов за запуск, чтобы не занимать поток планировщика.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    static final String EVENTS = "shareit.outbox.events";
+    private static final int MAX_BATCHES_PER_RUN = 10;
+    private static final int MAX_BACKOFF_SHIFT = 7;
+    private static final Map<String, Class<?>> EVENT_TYPES = Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final OutboxEventRepository outboxRepository;
+    private final List<DomainEventHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final Counter delivered;
+    private final Counter failed;
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outboxRepository,
+                            ObjectProvider<DomainEventHandler> handlers,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                            @Value("${shareit.outbox.retry-delay:30s}") Duration retryDelay) {
+        this.outboxRepository = outboxRepository;
+        this.handlers = handlers.orderedStream().toList();
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.delivered = Counter.builder(EVENTS).tag("result", "delivered").register(meterRegistry);
+        this.failed = Counter.builder(EVENTS).tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${shareit.outbox.dispatch-cron:* * * * * *}")
+    public void dispatchScheduled() {
+        dispatchPending();
+    }
+
+    /**
+     * Доставляет готовые события и возвращает число доставленных.
+     */
+    public int dispatchPending() {
+        int count = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            List<OutboxEvent> batch = transactionTemplate.execute(status -> claim());
+            List<Long> done = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                if (deliver(event)) {
+                    done.add(event.getId());
+                }
+            }
+            if (!done.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAllByIdInBatch(done));
+            }
+            count += done.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private List<OutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxRepository.findAvailable(now, PageRequest.of(0, batchSize));
+        for (OutboxEvent event : batch) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setAvailableAt(now.plus(retryDelay.multipliedBy(
+                    1L << Math.min(event.getAttempts() - 1, MAX_BACKOFF_SHIFT))));
+        }
+        return batch;
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            DomainEvent domainEvent = toDomainEvent(event);
+            for (DomainEventHandler handler : handlers) {
+                handler.handle(domainEvent);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Delivery of {} failed on attempt {}, retrying after {}",
+                    event, event.getAttempts(), event.getAvailableAt(), e);
+            failed.increment();
+            return false;
+        }
+        delivered.increment();
+        return true;
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        Class<?> type = EVENT_TYPES.get(event.getType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type " + event.getType());
+        }
+        try {
+            return (DomainEvent) objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read event " + event, e);
+        }
+    }
+}
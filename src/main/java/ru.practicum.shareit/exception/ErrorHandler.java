@@ -1,10 +1,16 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.user.User;
+
+import java.util.Locale;
 
 @Slf4j
 @RestControllerAdvice
@@ -31,10 +37,35 @@ public class ErrorHandler {
         return new ErrorResponse("Already Exists", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleDataIntegrityViolation(final DataIntegrityViolationException e) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (cause.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT)) {
+            return handleAlreadyExists(new AlreadyExistsException("Email already exists"));
+        }
+        log.warn("Data integrity violation: {}", cause);
+        return new ErrorResponse("Conflict", "Data integrity violation");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailure(final ObjectOptimisticLockingFailureException e) {
+        log.warn("Concurrent modification of {} {}", e.getPersistentClassName(), e.getIdentifier());
+        return new ErrorResponse("Conflict", "Resource was modified concurrently, reload and retry");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleInvalidInput(final InvalidInputException e) {
         log.warn("Invalid Input");
         return new ErrorResponse("Invalid Input", e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleCannotCreateTransaction(final CannotCreateTransactionException e) {
+        log.warn("Connection pool exhausted: {}", e.getMessage());
+        return new ErrorResponse("Service Unavailable", "Database connection is not available, retry later");
+    }
 }
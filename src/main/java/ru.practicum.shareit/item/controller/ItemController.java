@@ -2,16 +2,23 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.validation.OnCreate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -46,9 +53,18 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemDto> getItemById(@PathVariable Long itemId,
-                                               @RequestHeader("X-Sharer-User-Id") Long userId) {
+                                               @RequestHeader("X-Sharer-User-Id") Long userId,
+                                               WebRequest request) {
+        // без If-None-Match версию отдельно не выбираем: entityTag приходит вместе с вещью
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String entityTag = itemService.getItemEntityTag(itemId, userId);
+            if (entityTag != null && request.checkNotModified(entityTag)) {
+                return null;
+            }
+        }
         ItemDto item = itemService.getItemById(itemId, userId);
-        return ResponseEntity.ok(item);
+        // владелец видит бронирования, поэтому ответ зависит от пользователя
+        return ResponseEntity.ok().eTag(item.getEntityTag()).varyBy("X-Sharer-User-Id").body(item);
     }
 
     @GetMapping
@@ -65,6 +81,30 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<List<FreeSlotDto>> getFreeSlots(
+            @PathVariable Long itemId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<FreeSlotDto> slots = itemService.getFreeSlots(itemId, from == null ? LocalDateTime.now() : from, to);
+        return ResponseEntity.ok(slots);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(
+            @PathVariable Long itemId,
+            @RequestParam(name = "size", required = false, defaultValue = "20") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        List<CommentDto> comments = commentService.getCommentsByItem(itemId, size, cursor);
+        if (comments.size() < size) {
+            return ResponseEntity.ok(comments);
+        }
+        CommentDto last = comments.get(comments.size() - 1);
+        String nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        return ResponseEntity.ok().header(BookingController.NEXT_CURSOR_HEADER, nextCursor).body(comments);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<CommentDto> addComment(
             @PathVariable Long itemId,
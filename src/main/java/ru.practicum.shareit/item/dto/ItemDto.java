@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -33,4 +34,21 @@ public class ItemDto {
     private BookingSimpleDto lastBooking;
     private BookingSimpleDto nextBooking;
     private List<CommentDto> comments;
+    private Integer commentCount;
+    private Long requestId;
+
+    // версии вещи, из которых сервис собирает entityTag; в JSON не выводятся
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Long revision;
+    @JsonIgnore
+    private String entityTag;
+
+    // для выборки DTO напрямую запросом; бронирования, комментарии и entityTag дополняет сервис
+    public ItemDto(Long id, String name, String description, Boolean available, Long ownerId, String ownerName,
+                   Integer commentCount, Long requestId, Long version, Long revision) {
+        this(id, name, description, available, new UserSimpleDto(ownerId, ownerName), null, null, null,
+                commentCount, requestId, version, revision, null);
+    }
 }
\ No newline at end of file
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,14 +27,21 @@ public class Comment {
     @Column(nullable = false)
     private LocalDateTime created = LocalDateTime.now();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "id")
     private User author;
 
+    @Version
+    private Long version;
+
+    public Comment(Long id, String text, LocalDateTime created, Item item, User author) {
+        this(id, text, created, item, author, null);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -5,17 +5,22 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 @Entity
 @Table(name = "items")
+@NamedEntityGraph(name = Item.WITH_OWNER, attributeNodes = @NamedAttributeNode("owner"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
+    public static final String WITH_OWNER = "Item.withOwner";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -27,10 +32,29 @@ public class Item {
     @Column(nullable = false)
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(referencedColumnName = "id")
     private User owner;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "request_id", referencedColumnName = "id")
+    private ItemRequest request;
+
+    // меняется только запросом ItemRepository.incrementCommentCount, чтобы сохранение вещи не затирало счётчик
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private int commentCount;
+
+    @Version
+    private Long version;
+
+    // растёт только запросами ItemRepository при новых комментариях и смене имени владельца или авторов, входит в ETag
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long revision;
+
+    public Item(Long id, String name, String description, Boolean available, User owner) {
+        this(id, name, description, available, owner, null, 0, null, 0);
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
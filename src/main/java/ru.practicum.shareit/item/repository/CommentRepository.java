@@ -1,12 +1,35 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItem_Id(Long itemId);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.created, a.name) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId " +
+            "AND (c.created < :cursorCreated OR (c.created = :cursorCreated AND c.id < :cursorId)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findPageByItem(@Param("itemId") Long itemId,
+                                    @Param("cursorCreated") LocalDateTime cursorCreated,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    /**
+     * Не больше {@code limit} последних комментариев каждой вещи, от новых к старым.
+     */
+    @Query("SELECT new ru.practicum.shareit.item.repository.CommentView(r.itemId, r.id, r.text, r.created, " +
+            "r.authorName) FROM (SELECT c.item.id AS itemId, c.id AS id, c.text AS text, c.created AS created, " +
+            "a.name AS authorName, ROW_NUMBER() OVER (PARTITION BY c.item.id ORDER BY c.created DESC, c.id DESC) " +
+            "AS position FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds) r " +
+            "WHERE r.position <= :limit ORDER BY r.created DESC, r.id DESC")
+    List<CommentView> findLatestByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+}
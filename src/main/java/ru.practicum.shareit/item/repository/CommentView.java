@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Комментарий вместе с id вещи, выбранный запросом без загрузки сущностей.
+ */
+public record CommentView(Long itemId, Long id, String text, LocalDateTime created, String authorName) {
+    public CommentDto toCommentDto() {
+        return new CommentDto(id, text, created, authorName);
+    }
+}
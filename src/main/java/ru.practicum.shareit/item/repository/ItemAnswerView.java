@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+
+/**
+ * Вещь-ответ вместе с id запроса, выбранная запросом без загрузки сущностей.
+ */
+public record ItemAnswerView(Long requestId, Long id, String name, Long ownerId) {
+    public ItemAnswerDto toItemAnswerDto() {
+        return new ItemAnswerDto(id, name, ownerId);
+    }
+}
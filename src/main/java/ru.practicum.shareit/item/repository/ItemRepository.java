@@ -1,17 +1,72 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_DTOS = "SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "o.id, o.name, i.commentCount, i.request.id, i.version, i.revision) FROM Item i JOIN i.owner o ";
+
+    @EntityGraph(Item.WITH_OWNER)
     List<Item> findByOwnerId(Long ownerId);
 
-    @Query("SELECT i FROM Item i WHERE i.available = true AND (LOWER(i.name) LIKE %:text% OR LOWER(i.description) LIKE %:text%)")
-    List<Item> findAvailableBySearchText(@Param("text") String text);
+    @Query(ITEM_DTOS + "WHERE o.id = :ownerId ORDER BY i.id")
+    List<ItemDto> findDtosByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(ITEM_DTOS + "WHERE i.id = :id")
+    Optional<ItemDto> findDtoById(@Param("id") Long id);
+
+    @Query(ITEM_DTOS + "WHERE i.id IN :ids")
+    List<ItemDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.repository.ItemAnswerView(i.request.id, i.id, i.name, i.owner.id) " +
+            "FROM Item i WHERE i.request.id IN :requestIds ORDER BY i.id")
+    List<ItemAnswerView> findAnswersByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.repository.ItemVersionView(i.owner.id, i.version, i.revision, " +
+            "s.itemId, s.lastBookingId, s.nextBookingId, s.validUntil) " +
+            "FROM Item i LEFT JOIN ItemBookingSummary s ON s.itemId = i.id WHERE i.id = :id")
+    Optional<ItemVersionView> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(Item.WITH_OWNER)
+    Optional<Item> findWithOwnerById(Long id);
+
+    boolean existsByOwnerId(Long ownerId);
+
+    @Query(value = "SELECT i.id FROM items i WHERE i.available = TRUE AND " +
+            "(LOWER(i.name) LIKE CONCAT('%', :text, '%') OR LOWER(i.description) LIKE CONCAT('%', :text, '%')) " +
+            "ORDER BY LOWER(i.name) LIKE CONCAT('%', :text, '%') DESC, similarity(LOWER(i.name), :text) DESC, i.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> searchAvailableIds(@Param("text") String text, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.commentCount = i.commentCount + 1, i.revision = i.revision + 1 WHERE i.id = :id")
+    int incrementCommentCount(@Param("id") Long id);
+
+    // имя пользователя выводится владельцем в его вещах и автором в комментариях к вещам
+    @Modifying
+    @Query("UPDATE Item i SET i.revision = i.revision + 1 WHERE i.owner.id = :userId OR i.id IN " +
+            "(SELECT c.item.id FROM Comment c WHERE c.author.id = :userId)")
+    int incrementRevisionsByUser(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Версии вещи и указатели её сводки бронирований для ETag без построения DTO.
+ * {@code summaryItemId} равен {@code null}, если сводки нет.
+ */
+public record ItemVersionView(Long ownerId, Long version, Long revision, Long summaryItemId,
+                              Long lastBookingId, Long nextBookingId, LocalDateTime validUntil) {
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Встроенный поиск для H2 и тестовых профилей: {@link TrigramIndex}, построенный по всем вещам при старте.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Autowired
+    public InMemoryItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Item> items = itemRepository.findAll();
+        items.forEach(index::index);
+        log.info("Search index built for {} items", items.size());
+    }
+
+    @Override
+    public List<Long> search(String text, int limit) {
+        return index.search(text, limit);
+    }
+
+    @Override
+    public void index(Item item) {
+        index.index(item);
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        index.remove(itemId);
+    }
+}
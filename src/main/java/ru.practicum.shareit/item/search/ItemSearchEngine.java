@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    /**
+     * Возвращает id доступных вещей, в названии или описании которых встречается {@code text},
+     * от наиболее релевантных к наименее релевантным.
+     */
+    List<Long> search(String text, int limit);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+}
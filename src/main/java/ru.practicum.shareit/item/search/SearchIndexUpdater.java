@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.event.DomainEvent;
+import ru.practicum.shareit.event.DomainEventHandler;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+/**
+ * Переиндексирует вещи по событиям {@link DomainEvent.ItemCreated} и {@link DomainEvent.ItemUpdated}.
+ * Основной путь — индексирование после фиксации в пишущем сервисе; здесь индекс восстанавливается по базе,
+ * если тот не сработал, правки зафиксировались в другом порядке или вещь меняли на другом экземпляре.
+ */
+@Component
+public class SearchIndexUpdater implements DomainEventHandler {
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine searchEngine;
+
+    @Autowired
+    public SearchIndexUpdater(ItemRepository itemRepository, ItemSearchEngine searchEngine) {
+        this.itemRepository = itemRepository;
+        this.searchEngine = searchEngine;
+    }
+
+    // пишущая транзакция читает из основной базы: реплика может ещё не получить изменение
+    @Override
+    @Transactional
+    public void handle(DomainEvent event) {
+        if (event instanceof DomainEvent.ItemCreated created) {
+            reindex(created.itemId());
+        } else if (event instanceof DomainEvent.ItemUpdated updated) {
+            reindex(updated.itemId());
+        }
+    }
+
+    private void reindex(Long itemId) {
+        itemRepository.findById(itemId)
+                .ifPresentOrElse(searchEngine::index, () -> searchEngine.remove(itemId));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по триграммам названий и описаний вещей, приведённых к нижнему регистру при индексации.
+ * Триграммы запроса сужают кандидатов, а точное совпадение подстроки проверяется по сохранённому тексту,
+ * так что результаты совпадают с LIKE %text%. Потокобезопасен.
+ */
+public class TrigramIndex {
+    private static final int GRAM = 3;
+    private static final int DESCRIPTION_ONLY = Integer.MAX_VALUE / 2;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Id доступных вещей, содержащих {@code text}: сначала совпадения в названии, раньше — раннее вхождение.
+     */
+    public List<Long> search(String text, int limit) {
+        String query = text.toLowerCase();
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .map(documents::get)
+                    .filter(document -> document.matches(query))
+                    .sorted(Comparator.comparingInt((Document document) -> document.rank(query))
+                            .thenComparing(Document::id))
+                    .limit(limit)
+                    .map(Document::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        Document document = new Document(item.getId(), item.getName().toLowerCase(),
+                item.getDescription().toLowerCase(), item.getAvailable());
+        lock.writeLock().lock();
+        try {
+            removeDocument(item.getId());
+            documents.put(document.id(), document);
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long itemId) {
+        Document previous = documents.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams()) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private record Document(Long id, String name, String description, boolean available) {
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        // Совпадение в названии важнее совпадения в описании, раннее вхождение важнее позднего
+        int rank(String query) {
+            int position = name.indexOf(query);
+            return position >= 0 ? position : DESCRIPTION_ONLY + description.indexOf(query);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = TrigramIndex.grams(name);
+            grams.addAll(TrigramIndex.grams(description));
+            return grams;
+        }
+    }
+}
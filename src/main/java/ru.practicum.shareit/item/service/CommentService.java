@@ -1,11 +1,21 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.collection.LongObjectHashMap;
 import ru.practicum.shareit.item.dto.CommentDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentService {
     CommentDto addComment(Long itemId, Long authorId, String text);
 
-    List<CommentDto> getCommentsByItem(Long itemId);
+    /**
+     * Страница комментариев вещи от новых к старым, начиная после {@code cursor}.
+     */
+    List<CommentDto> getCommentsByItem(Long itemId, Integer size, String cursor);
+
+    /**
+     * Последние комментарии каждой из вещей, не больше {@code shareit.item.latest-comments} на вещь.
+     */
+    LongObjectHashMap<List<CommentDto>> getLatestCommentsByItems(Collection<Long> itemIds);
 }
\ No newline at end of file
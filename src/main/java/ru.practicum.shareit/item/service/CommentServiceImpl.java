@@ -2,44 +2,62 @@ package ru.practicum.shareit.item.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+import ru.practicum.shareit.event.DomainEvent.CommentAdded;
+import ru.practicum.shareit.event.DomainEventPublisher;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InvalidInputException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.CommentView;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class CommentServiceImpl implements CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final int latestComments;
 
     @Autowired
     public CommentServiceImpl(CommentRepository commentRepository,
                               UserRepository userRepository,
                               ItemRepository itemRepository,
-                              BookingRepository bookingRepository) {
+                              BookingRepository bookingRepository,
+                              DomainEventPublisher eventPublisher,
+                              @Value("${shareit.item.latest-comments:3}") int latestComments) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.latestComments = latestComments;
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(Long itemId, Long authorId, String text) {
         log.info("Service received text: {}", text);
         User author = userRepository.findById(authorId)
@@ -61,13 +79,37 @@ public class CommentServiceImpl implements CommentService {
         comment.setAuthor(author);
         log.info("Saving comment with text: {}", comment.getText());
         Comment savedComment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
+        eventPublisher.publish(new CommentAdded(savedComment.getId(), itemId));
         return toCommentDto(savedComment);
     }
 
     @Override
-    public List<CommentDto> getCommentsByItem(Long itemId) {
-        List<Comment> comments = commentRepository.findByItem_Id(itemId);
-        return comments.stream().map(this::toCommentDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<CommentDto> getCommentsByItem(Long itemId, Integer size, String cursor) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Parameter size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        if (!itemRepository.existsById(itemId)) {
+            throw new IdNotFoundException("Item not found with id: " + itemId);
+        }
+        return commentRepository.findPageByItem(itemId, position.getTimestamp(), position.getId(),
+                PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LongObjectHashMap<List<CommentDto>> getLatestCommentsByItems(Collection<Long> itemIds) {
+        LongObjectHashMap<List<CommentDto>> commentsByItem = new LongObjectHashMap<>(itemIds.size());
+        if (itemIds.isEmpty() || latestComments == 0) {
+            return commentsByItem;
+        }
+        for (CommentView comment : commentRepository.findLatestByItemIds(itemIds, latestComments)) {
+            commentsByItem.computeIfAbsent(comment.itemId(), id -> new ArrayList<>())
+                    .add(comment.toCommentDto());
+        }
+        return commentsByItem;
     }
 
     private CommentDto toCommentDto(Comment comment) {
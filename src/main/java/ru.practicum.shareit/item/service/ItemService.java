@@ -1,8 +1,9 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemSimpleDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,7 +15,17 @@ public interface ItemService {
 
     ItemDto getItemById(Long itemId, Long userId);
 
+    /**
+     * ETag вещи для пользователя одним запросом по индексу, без комментариев и бронирований; совпадает с
+     * {@link ItemDto#getEntityTag()} из {@link #getItemById}. {@code null}, если вещи нет или сводка бронирований
+     * владельца устарела и ETag можно узнать только полным расчётом.
+     */
+    String getItemEntityTag(Long itemId, Long userId);
+
     List<ItemDto> searchAvailableItems(String text, Long userId);
 
-    ItemSimpleDto getItemSimpleDto(Long itemId);
+    /**
+     * Свободные для бронирования окна вещи в периоде [from, to), начиная не раньше текущего момента.
+     */
+    List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,45 +1,73 @@
 package ru.practicum.shareit.item.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.IntervalTree.Interval;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingSimpleDto;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+import ru.practicum.shareit.event.DomainEvent.ItemCreated;
+import ru.practicum.shareit.event.DomainEvent.ItemUpdated;
+import ru.practicum.shareit.event.DomainEventPublisher;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InvalidInputException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemSimpleDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemVersionView;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.dto.UserSimpleDto;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
+@Slf4j
 @Service
 public class ItemServiceImpl implements ItemService {
-
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
-    private final BookingRepository bookingRepository;
+    private final ItemRequestRepository requestRepository;
+    private final ItemBookingSummaryService summaryService;
     private final CommentService commentService;
+    private final ItemSearchEngine searchEngine;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final DomainEventPublisher eventPublisher;
+    private final int searchLimit;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
-                           BookingRepository bookingRepository, CommentService commentService) {
+                           ItemRequestRepository requestRepository,
+                           ItemBookingSummaryService summaryService, CommentService commentService,
+                           ItemSearchEngine searchEngine, ItemAvailabilityIndex availabilityIndex,
+                           DomainEventPublisher eventPublisher,
+                           @Value("${shareit.search.limit:100}") int searchLimit) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
-        this.bookingRepository = bookingRepository;
+        this.requestRepository = requestRepository;
+        this.summaryService = summaryService;
         this.commentService = commentService;
+        this.searchEngine = searchEngine;
+        this.availabilityIndex = availabilityIndex;
+        this.eventPublisher = eventPublisher;
+        this.searchLimit = searchLimit;
     }
 
     @Override
+    @Transactional
     public ItemDto createItem(ItemDto itemDto, Long ownerId) {
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new IdNotFoundException("User with id " + ownerId + " not found"));
@@ -53,14 +81,21 @@ public class ItemServiceImpl implements ItemService {
         item.setDescription(itemDto.getDescription());
         item.setAvailable(itemDto.getAvailable());
         item.setOwner(owner);
+        if (itemDto.getRequestId() != null) {
+            item.setRequest(requestRepository.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new IdNotFoundException("Request not found with id: " + itemDto.getRequestId())));
+        }
 
         Item savedItem = itemRepository.save(item);
+        indexAfterCommit(savedItem);
+        eventPublisher.publish(new ItemCreated(savedItem.getId()));
         return toItemDto(savedItem, ownerId);
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(ItemDto itemDto, Long ownerId, Long itemId) {
-        Item existingItem = itemRepository.findById(itemId)
+        Item existingItem = itemRepository.findWithOwnerById(itemId)
                 .orElseThrow(() -> new IdNotFoundException("Item not found with id: " + itemId));
 
         if (!existingItem.getOwner().getId().equals(ownerId)) {
@@ -85,74 +120,176 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setAvailable(itemDto.getAvailable());
         }
 
-        Item savedItem = itemRepository.save(existingItem);
+        if (itemDto.getName() != null || itemDto.getDescription() != null) {
+            // название и описание видны в списках бронирований арендаторов, их ETag должен смениться
+            userRepository.incrementBookingsRevisionsByItem(itemId);
+        }
+
+        // версия растёт при сбросе изменений, а она нужна для entityTag ответа
+        Item savedItem = itemRepository.saveAndFlush(existingItem);
+        indexAfterCommit(savedItem);
+        eventPublisher.publish(new ItemUpdated(savedItem.getId()));
         return toItemDto(savedItem, ownerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
+        ItemDto item = itemRepository.findDtoById(itemId)
                 .orElseThrow(() -> new IdNotFoundException("Item not found with id: " + itemId));
-        return toItemDto(item, userId);
+        return withBookingsAndComments(List.of(item), userId).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getItemEntityTag(Long itemId, Long userId) {
+        ItemVersionView view = itemRepository.findVersionById(itemId).orElse(null);
+        if (view == null) {
+            return null;
+        }
+        if (!view.ownerId().equals(userId)) {
+            return entityTag(view.version(), view.revision());
+        }
+        // устаревшую или отсутствующую сводку getItemById пересчитает, и указатели могут смениться
+        if (view.summaryItemId() == null
+                || (view.validUntil() != null && !view.validUntil().isAfter(LocalDateTime.now()))) {
+            return null;
+        }
+        return ownerEntityTag(view.version(), view.revision(), view.lastBookingId(), view.nextBookingId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> searchAvailableItems(String text, Long userId) {
         if (text == null || text.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        String lowerText = text.toLowerCase();
-        List<Item> items = itemRepository.findAvailableBySearchText(lowerText);
-        return items.stream().map(item -> toItemDto(item, userId)).collect(Collectors.toList());
+        List<Long> ids = searchEngine.search(text.toLowerCase(), searchLimit);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<ItemDto> dtos = itemRepository.findDtosByIdIn(ids);
+        LongObjectHashMap<ItemDto> found = new LongObjectHashMap<>(dtos.size());
+        dtos.forEach(item -> found.put(item.getId(), item));
+        List<ItemDto> ranked = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ItemDto item = found.get(id);
+            if (item != null) {
+                ranked.add(item);
+            }
+        }
+        return withBookingsAndComments(ranked, userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAllItemsByOwner(Long ownerId) {
-        return itemRepository.findByOwnerId(ownerId).stream()
-                .map(item -> toItemDto(item, ownerId))
-                .collect(Collectors.toList());
+        return withBookingsAndComments(itemRepository.findDtosByOwnerId(ownerId), ownerId);
     }
 
     @Override
-    public ItemSimpleDto getItemSimpleDto(Long itemId) {
+    @Transactional(readOnly = true)
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidInputException("End of the period must be after its start");
+        }
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IdNotFoundException("Item not found with id: " + itemId));
-        return new ItemSimpleDto(item.getId(), item.getName(), item.getDescription());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime slotStart = from.isAfter(now) ? from : now;
+        List<FreeSlotDto> slots = new ArrayList<>();
+        if (!item.getAvailable() || !slotStart.isBefore(to)) {
+            return slots;
+        }
+        // окна — промежутки между занятыми интервалами, отсортированными по началу
+        for (Interval booked : availabilityIndex.findBooked(itemId, slotStart, to)) {
+            if (booked.start().isAfter(slotStart)) {
+                slots.add(new FreeSlotDto(slotStart, booked.start()));
+            }
+            if (booked.end().isAfter(slotStart)) {
+                slotStart = booked.end();
+            }
+        }
+        if (slotStart.isBefore(to)) {
+            slots.add(new FreeSlotDto(slotStart, to));
+        }
+        return slots;
     }
 
-    private BookingSimpleDto getLastBooking(Long itemId) {
-        List<Booking> bookings = bookingRepository.findLastBookings(itemId, BookingStatus.APPROVED, LocalDateTime.now());
-        if (bookings.isEmpty()) {
-            return null;
-        }
-        Booking last = bookings.get(0);
-        return new BookingSimpleDto(last.getStartDate(), last.getEndDate());
+    /**
+     * Обновляет поисковый индекс этого экземпляра сразу после фиксации, чтобы вещь находилась в ответ на следующий
+     * запрос. Если индексирование не удалось или правки зафиксировались в другом порядке, индекс исправит
+     * {@link ru.practicum.shareit.item.search.SearchIndexUpdater} по событию из outbox.
+     */
+    private void indexAfterCommit(Item item) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    searchEngine.index(item);
+                } catch (RuntimeException e) {
+                    log.warn("Item {} will be indexed from the outbox: {}", item.getId(), e.getMessage());
+                }
+            }
+        });
     }
 
-    private BookingSimpleDto getNextBooking(Long itemId) {
-        List<Booking> bookings = bookingRepository.findNextBookings(itemId, BookingStatus.APPROVED, LocalDateTime.now());
-        if (bookings.isEmpty()) {
-            return null;
+    private ItemDto toItemDto(Item item, Long userId) {
+        ItemDto dto = new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner().getId(), item.getOwner().getName(), item.getCommentCount(),
+                item.getRequest() == null ? null : item.getRequest().getId(), item.getVersion(), item.getRevision());
+        return withBookingsAndComments(List.of(dto), userId).get(0);
+    }
+
+    private List<ItemDto> withBookingsAndComments(List<ItemDto> items, Long userId) {
+        if (items.isEmpty()) {
+            return items;
         }
-        Booking next = bookings.get(0);
-        return new BookingSimpleDto(next.getStartDate(), next.getEndDate());
+        // id уже упакованы в DTO и уходят параметрами запросов, поэтому списки id остаются List<Long>
+        List<Long> itemIds = new ArrayList<>(items.size());
+        List<Long> ownedItemIds = new ArrayList<>();
+        for (ItemDto item : items) {
+            itemIds.add(item.getId());
+            if (item.getOwner().getId().equals(userId)) {
+                ownedItemIds.add(item.getId());
+            }
+        }
+
+        LongObjectHashMap<ItemBookingSummary> summaries = ownedItemIds.isEmpty()
+                ? new LongObjectHashMap<>()
+                : summaryService.getSummaries(ownedItemIds);
+        LongObjectHashMap<List<CommentDto>> comments = commentService.getLatestCommentsByItems(itemIds);
+
+        for (ItemDto item : items) {
+            ItemBookingSummary summary = summaries.get(item.getId());
+            if (summary != null) {
+                item.setLastBooking(toBookingSimpleDto(summary.getLastStart(), summary.getLastEnd()));
+                item.setNextBooking(toBookingSimpleDto(summary.getNextStart(), summary.getNextEnd()));
+            }
+            item.setComments(comments.getOrDefault(item.getId(), new ArrayList<>()));
+            item.setEntityTag(summary == null
+                    ? entityTag(item.getVersion(), item.getRevision())
+                    : ownerEntityTag(item.getVersion(), item.getRevision(),
+                    summary.getLastBookingId(), summary.getNextBookingId()));
+        }
+        return items;
     }
 
-    private ItemDto toItemDto(Item item, Long userId) {
-        ItemDto dto = new ItemDto();
-        dto.setId(item.getId());
-        dto.setName(item.getName());
-        dto.setDescription(item.getDescription());
-        dto.setAvailable(item.getAvailable());
-        dto.setOwner(new UserSimpleDto(item.getOwner().getId(), item.getOwner().getName()));
-        if (item.getOwner().getId().equals(userId)) {
-            dto.setLastBooking(getLastBooking(item.getId()));
-            dto.setNextBooking(getNextBooking(item.getId()));
-        } else {
-            dto.setLastBooking(null);
-            dto.setNextBooking(null);
-        }
-        dto.setComments(commentService.getCommentsByItem(item.getId()));
-        return dto;
+    // поля вещи меняют version, комментарии и имена пользователей - revision
+    private static String entityTag(Long version, Long revision) {
+        return version + "." + revision;
+    }
+
+    // владелец видит ещё последнее и следующее бронирования; их даты не меняются, поэтому хватает id
+    private static String ownerEntityTag(Long version, Long revision, Long lastBookingId, Long nextBookingId) {
+        return entityTag(version, revision) + "." + Objects.toString(lastBookingId, "-") + "."
+                + Objects.toString(nextBookingId, "-");
+    }
+
+    private BookingSimpleDto toBookingSimpleDto(LocalDateTime start, LocalDateTime end) {
+        if (start == null) {
+            return null;
+        }
+        return new BookingSimpleDto(start, end);
     }
 }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+/**
+ * Записывает число SQL-запросов на каждый HTTP-запрос в {@code shareit.sql.statements} с тегами uri и method.
+ * Время ответа по эндпоинтам уже пишет {@code http.server.requests}; id пользователя в теги не попадает,
+ * поэтому медленные запросы дополнительно логируются вместе с ним.
+ * Для потоковых ответов учитываются только запросы из потока контейнера.
+ */
+@Slf4j
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+    public static final String SQL_STATEMENTS = "shareit.sql.statements";
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final SqlStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final Duration slowRequest;
+
+    public RequestMetricsInterceptor(SqlStatementCounter statementCounter, MeterRegistry meterRegistry,
+                                     Duration slowRequest) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.slowRequest = slowRequest;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        statementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        statementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long statements = statementCounter.stop();
+        Object uriPattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = uriPattern == null ? "UNKNOWN" : uriPattern.toString();
+        DistributionSummary.builder(SQL_STATEMENTS)
+                .description("SQL statements prepared while handling a request")
+                .baseUnit("statements")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(statements);
+
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - (Long) start);
+            if (elapsed.compareTo(slowRequest) > 0) {
+                log.warn("Slow request {} {} ({}) by user {}: {} ms, {} SQL statements, status {}",
+                        request.getMethod(), request.getRequestURI(), uri, request.getHeader(USER_HEADER),
+                        elapsed.toMillis(), statements, response.getStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-запросы, подготовленные Hibernate в текущем потоке.
+ * Подсчёт идёт только между {@link #start()} и {@link #stop()}, в остальное время запросы не учитываются.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<long[]> counts = new ThreadLocal<>();
+
+    public void start() {
+        counts.set(new long[1]);
+    }
+
+    public long stop() {
+        long[] count = counts.get();
+        counts.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = counts.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
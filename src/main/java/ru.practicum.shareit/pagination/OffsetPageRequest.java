@@ -0,0 +1,77 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.InvalidInputException;
+
+/**
+ * {@link Pageable}, задаваемый смещением строки ({@code from}), а не номером страницы.
+ */
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int size;
+
+    private OffsetPageRequest(long offset, int size) {
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public static Pageable of(Integer from, Integer size) {
+        int offset = from == null ? 0 : from;
+        if (offset < 0) {
+            throw new InvalidInputException("Parameter from must not be negative");
+        }
+        if (size == null) {
+            return offset == 0 ? Pageable.unpaged() : new OffsetPageRequest(offset, Integer.MAX_VALUE);
+        }
+        if (size <= 0) {
+            throw new InvalidInputException("Parameter size must be positive");
+        }
+        return new OffsetPageRequest(offset, size);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - size), size) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
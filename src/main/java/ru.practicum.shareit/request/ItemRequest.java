@@ -1,7 +1,58 @@
 package ru.practicum.shareit.request;
 
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
 /**
- * TODO Sprint add-item-requests.
+ * Запрос вещи, которой пока нет: владельцы отвечают на него, добавляя вещи с {@code request_id}.
  */
+@Entity
+@Table(name = "requests")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requestor_id", referencedColumnName = "id")
+    private User requestor;
+
+    @Column(nullable = false)
+    private LocalDateTime created = LocalDateTime.now();
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ItemRequest request = (ItemRequest) o;
+        return getId() != null && getId().equals(request.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return 31;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemRequest{" +
+                "id=" + id +
+                ", description='" + description + '\'' +
+                ", created=" + created +
+                '}';
+    }
 }
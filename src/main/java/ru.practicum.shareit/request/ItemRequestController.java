@@ -1,12 +1,68 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.validation.OnCreate;
+
+import java.util.List;
 
-/**
- * TODO Sprint add-item-requests.
- */
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+    private final ItemRequestService requestService;
+
+    @Autowired
+    public ItemRequestController(ItemRequestService requestService) {
+        this.requestService = requestService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ItemRequestDto> createRequest(
+            @RequestHeader("X-Sharer-User-Id") Long requestorId,
+            @Validated(OnCreate.class) @RequestBody ItemRequestDto requestDto) {
+        ItemRequestDto createdRequest = requestService.createRequest(requestDto, requestorId);
+        return ResponseEntity.ok(createdRequest);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ItemRequestDto>> getOwnRequests(
+            @RequestHeader("X-Sharer-User-Id") Long requestorId,
+            @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
+            @RequestParam(name = "size", required = false, defaultValue = "20") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        List<ItemRequestDto> requests = requestService.getOwnRequests(requestorId, from, size, cursor);
+        return withNextCursor(requests, size);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<ItemRequestDto>> getOtherRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
+            @RequestParam(name = "size", required = false, defaultValue = "20") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        List<ItemRequestDto> requests = requestService.getOtherRequests(userId, from, size, cursor);
+        return withNextCursor(requests, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ResponseEntity<ItemRequestDto> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @PathVariable Long requestId) {
+        ItemRequestDto request = requestService.getRequestById(requestId, userId);
+        return ResponseEntity.ok(request);
+    }
+
+    private ResponseEntity<List<ItemRequestDto>> withNextCursor(List<ItemRequestDto> requests, Integer size) {
+        if (requests.size() < size) {
+            return ResponseEntity.ok(requests);
+        }
+        ItemRequestDto last = requests.get(requests.size() - 1);
+        String nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        return ResponseEntity.ok().header(BookingController.NEXT_CURSOR_HEADER, nextCursor).body(requests);
+    }
 }
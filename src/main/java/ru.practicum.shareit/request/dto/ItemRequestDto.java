@@ -1,7 +1,31 @@
 package ru.practicum.shareit.request.dto;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.validation.OnCreate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemRequestDto {
+    private Long id;
+
+    @NotBlank(message = "Описание не может быть пустым", groups = OnCreate.class)
+    @Size(max = 1000, message = "Описание должно быть не длиннее 1000 символов")
+    private String description;
+
+    private LocalDateTime created;
+    private List<ItemAnswerDto> items = new ArrayList<>();
+
+    // для выборки DTO напрямую запросом; ответы дополняет сервис
+    public ItemRequestDto(Long id, String description, LocalDateTime created) {
+        this(id, description, created, new ArrayList<>());
+    }
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    String REQUEST_DTOS = "SELECT new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.created) " +
+            "FROM ItemRequest r ";
+    String AFTER_CURSOR = "(r.created < :cursorCreated OR (r.created = :cursorCreated AND r.id < :cursorId)) " +
+            "ORDER BY r.created DESC, r.id DESC";
+
+    @Query(REQUEST_DTOS + "WHERE r.requestor.id = :requestorId AND " + AFTER_CURSOR)
+    List<ItemRequestDto> findPageByRequestor(@Param("requestorId") Long requestorId,
+                                             @Param("cursorCreated") LocalDateTime cursorCreated,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query(REQUEST_DTOS + "WHERE r.requestor.id <> :userId AND " + AFTER_CURSOR)
+    List<ItemRequestDto> findPageByOtherRequestors(@Param("userId") Long userId,
+                                                   @Param("cursorCreated") LocalDateTime cursorCreated,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    @Query(REQUEST_DTOS + "WHERE r.id = :id")
+    Optional<ItemRequestDto> findDtoById(@Param("id") Long id);
+}
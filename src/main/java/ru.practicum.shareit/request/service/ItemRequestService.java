@@ -0,0 +1,21 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto createRequest(ItemRequestDto requestDto, Long requestorId);
+
+    /**
+     * Страница запросов пользователя с ответами, от новых к старым, начиная после {@code cursor}.
+     */
+    List<ItemRequestDto> getOwnRequests(Long requestorId, Integer from, Integer size, String cursor);
+
+    /**
+     * Страница запросов остальных пользователей с ответами, от новых к старым, начиная после {@code cursor}.
+     */
+    List<ItemRequestDto> getOtherRequests(Long userId, Integer from, Integer size, String cursor);
+
+    ItemRequestDto getRequestById(Long requestId, Long userId);
+}
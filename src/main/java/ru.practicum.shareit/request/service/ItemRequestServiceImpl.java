@@ -0,0 +1,110 @@
+package ru.practicum.shareit.request.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.collection.LongObjectHashMap;
+import ru.practicum.shareit.exception.IdNotFoundException;
+import ru.practicum.shareit.exception.InvalidInputException;
+import ru.practicum.shareit.item.repository.ItemAnswerView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ItemRequestRepository requestRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public ItemRequestServiceImpl(ItemRequestRepository requestRepository, ItemRepository itemRepository,
+                                  UserRepository userRepository) {
+        this.requestRepository = requestRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @Transactional
+    public ItemRequestDto createRequest(ItemRequestDto requestDto, Long requestorId) {
+        User requestor = userRepository.findById(requestorId)
+                .orElseThrow(() -> new IdNotFoundException("User not found with id: " + requestorId));
+
+        ItemRequest request = new ItemRequest();
+        request.setDescription(requestDto.getDescription().trim());
+        request.setRequestor(requestor);
+        ItemRequest savedRequest = requestRepository.save(request);
+        return new ItemRequestDto(savedRequest.getId(), savedRequest.getDescription(), savedRequest.getCreated());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getOwnRequests(Long requestorId, Integer from, Integer size, String cursor) {
+        Pageable page = page(from, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        checkUser(requestorId);
+        return withAnswers(requestRepository.findPageByRequestor(requestorId, position.getTimestamp(),
+                position.getId(), page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getOtherRequests(Long userId, Integer from, Integer size, String cursor) {
+        Pageable page = page(from, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        checkUser(userId);
+        return withAnswers(requestRepository.findPageByOtherRequestors(userId, position.getTimestamp(),
+                position.getId(), page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestDto getRequestById(Long requestId, Long userId) {
+        checkUser(userId);
+        ItemRequestDto request = requestRepository.findDtoById(requestId)
+                .orElseThrow(() -> new IdNotFoundException("Request not found with id: " + requestId));
+        return withAnswers(List.of(request)).get(0);
+    }
+
+    private Pageable page(Integer from, Integer size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Parameter size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return OffsetPageRequest.of(from, size);
+    }
+
+    private void checkUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IdNotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    // ответы на всю страницу запросов выбираются одним запросом
+    private List<ItemRequestDto> withAnswers(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        LongObjectHashMap<ItemRequestDto> byId = new LongObjectHashMap<>(requests.size());
+        List<Long> requestIds = new ArrayList<>(requests.size());
+        for (ItemRequestDto request : requests) {
+            byId.put(request.getId(), request);
+            requestIds.add(request.getId());
+        }
+        for (ItemAnswerView answer : itemRepository.findAnswersByRequestIds(requestIds)) {
+            byId.get(answer.requestId()).getItems().add(answer.toItemAnswerDto());
+        }
+        return requests;
+    }
+}
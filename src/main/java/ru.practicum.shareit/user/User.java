@@ -12,8 +12,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
+    // уникальный индекс по LOWER(email), см. миграции V2_1__users_email_lower
+    public static final String EMAIL_CONSTRAINT = "uq_users_email_lower";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -21,4 +25,12 @@ public class User {
 
     @Column(name = "email", nullable = false, unique = true)
     private String email;
+
+    // растёт только запросами UserRepository при изменении списка бронирований пользователя, служит его ETag
+    @Column(name = "bookings_revision", nullable = false, insertable = false, updatable = false)
+    private long bookingsRevision;
+
+    public User(Long id, String name, String email) {
+        this(id, name, email, 0);
+    }
 }
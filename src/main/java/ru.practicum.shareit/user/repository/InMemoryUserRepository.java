@@ -1,34 +0,0 @@
-package ru.practicum.shareit.user.repository;
-
-
-import org.springframework.stereotype.Repository;
-import ru.practicum.shareit.user.User;
-
-import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
-
-@Repository
-public class InMemoryUserRepository {
-    private final Map<Long, User> users = new HashMap<>();
-    private final AtomicLong counter = new AtomicLong(0);
-
-    public User save(User user) {
-        if (user.getId() == null) {
-            user.setId(counter.incrementAndGet());
-        }
-        users.put(user.getId(), user);
-        return user;
-    }
-
-    public Optional<User> findById(Long id) {
-        return Optional.ofNullable(users.get(id));
-    }
-
-    public List<User> findAll() {
-        return new ArrayList<>(users.values());
-    }
-
-    public void deleteById(Long id) {
-        users.remove(id);
-    }
-}
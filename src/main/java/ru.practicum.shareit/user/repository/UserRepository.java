@@ -1,12 +1,28 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.User;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.bookingsRevision FROM User u WHERE u.id = :id")
+    Optional<Long> findBookingsRevisionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.bookingsRevision = u.bookingsRevision + 1 WHERE u.id IN :ids")
+    int incrementBookingsRevisions(@Param("ids") Collection<Long> ids);
+
+    // название и описание вещи выводятся в бронированиях всех её арендаторов
+    @Modifying
+    @Query("UPDATE User u SET u.bookingsRevision = u.bookingsRevision + 1 WHERE u.id IN " +
+            "(SELECT b.booker.id FROM Booking b WHERE b.item.id = :itemId)")
+    int incrementBookingsRevisionsByItem(@Param("itemId") Long itemId);
 }
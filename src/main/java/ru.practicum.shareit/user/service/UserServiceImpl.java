@@ -1,47 +1,66 @@
 package ru.practicum.shareit.user.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.exception.AlreadyExistsException;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InvalidInputException;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.EmailValidator;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
+    public static final String USERS_CACHE = "users";
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EmailValidator emailValidator;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ItemRepository itemRepository,
+                           EmailValidator emailValidator) {
         this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.emailValidator = emailValidator;
     }
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
-        validateEmailUniqueness(userDto.getEmail(), null);
+        // занятый email отвергает уникальный индекс, ErrorHandler отвечает на нарушение кодом 409
         User user = UserMapper.toModel(userDto);
         User savedUser = userRepository.save(user);
         return UserMapper.toDto(savedUser);
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
+    @Transactional
     public UserDto updateUser(Long id, UserDto userDto) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new IdNotFoundException("User not found with id: " + id));
 
+        String oldName = existingUser.getName();
+        String oldEmail = existingUser.getEmail();
         if (userDto.getName() != null) {
             if (userDto.getName().trim().isEmpty()) {
                 throw new InvalidInputException("Name cannot be empty");
             }
-            existingUser.setName(userDto.getName().trim());
+            String name = userDto.getName().trim();
+            if (!name.equals(existingUser.getName())) {
+                // имя выводится в вещах пользователя и его комментариях, их ETag должен смениться
+                itemRepository.incrementRevisionsByUser(id);
+            }
+            existingUser.setName(name);
         }
 
         if (userDto.getEmail() != null) {
@@ -49,25 +68,25 @@ public class UserServiceImpl implements UserService {
                 throw new InvalidInputException("Email cannot be empty");
             }
 
-            if (!isValidEmail(userDto.getEmail())) {
+            if (!emailValidator.isValid(userDto.getEmail())) {
                 throw new InvalidInputException("Email is not valid");
             }
 
-            validateEmailUniqueness(userDto.getEmail(), id);
             existingUser.setEmail(userDto.getEmail().trim());
         }
 
+        if (!oldName.equals(existingUser.getName()) || !oldEmail.equals(existingUser.getEmail())) {
+            // имя и email арендатора выводятся в его списке бронирований
+            userRepository.incrementBookingsRevisions(List.of(id));
+        }
+
         User savedUser = userRepository.save(existingUser);
         return UserMapper.toDto(savedUser);
     }
 
-    private boolean isValidEmail(String email) {
-        if (email == null) return false;
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        return email.matches(emailRegex);
-    }
-
     @Override
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         return userRepository.findById(id)
                 .map(UserMapper::toDto)
@@ -75,6 +94,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(UserMapper::toDto)
@@ -82,16 +102,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
     }
-
-    private void validateEmailUniqueness(String email, Long excludeId) {
-        Optional<User> existingUser = userRepository.findByEmail(email);
-        if (existingUser.isPresent()) {
-            if (excludeId == null || !existingUser.get().getId().equals(excludeId)) {
-                throw new AlreadyExistsException("Email already exists: " + email);
-            }
-        }
-    }
 }
\ No newline at end of file
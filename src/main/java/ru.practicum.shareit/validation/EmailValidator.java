@@ -0,0 +1,18 @@
+package ru.practicum.shareit.validation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Проверка формата email по заранее скомпилированному выражению.
+ */
+@Component
+public class EmailValidator {
+    private static final Pattern EMAIL =
+            Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    public boolean isValid(String email) {
+        return email != null && EMAIL.matcher(email).matches();
+    }
+}
@@ -0,0 +1,26 @@
+-- базы, созданные прежним schema.sql, принимаются как версия 1 и получают здесь то, чего в нём не было;
+-- на новых базах V1 уже создал всё это, и скрипт ничего не меняет
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+    item_id BIGINT NOT NULL,
+    last_booking_id BIGINT,
+    last_start TIMESTAMP,
+    last_end TIMESTAMP,
+    next_booking_id BIGINT,
+    next_start TIMESTAMP,
+    next_end TIMESTAMP,
+    valid_until TIMESTAMP,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    CONSTRAINT fk_item_booking_summary_item FOREIGN KEY (item_id) REFERENCES items(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_dates ON bookings (item_id, status, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_item_booking_summaries_valid_until ON item_booking_summaries (valid_until);
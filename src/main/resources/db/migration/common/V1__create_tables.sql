@@ -0,0 +1,68 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(512) NOT NULL,
+    CONSTRAINT pk_user PRIMARY KEY (id),
+    CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
+);
+
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE items (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(1024) NOT NULL,
+    available BOOLEAN NOT NULL,
+    owner_id BIGINT NOT NULL,
+    CONSTRAINT pk_item PRIMARY KEY (id),
+    CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users(id)
+);
+
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id),
+    CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items(id),
+    CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users(id)
+);
+
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE comments (
+    id BIGINT NOT NULL,
+    text VARCHAR(1024) NOT NULL,
+    created TIMESTAMP NOT NULL,
+    item_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    CONSTRAINT pk_comment PRIMARY KEY (id),
+    CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items(id),
+    CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users(id)
+);
+
+CREATE TABLE item_booking_summaries (
+    item_id BIGINT NOT NULL,
+    last_booking_id BIGINT,
+    last_start TIMESTAMP,
+    last_end TIMESTAMP,
+    next_booking_id BIGINT,
+    next_start TIMESTAMP,
+    next_end TIMESTAMP,
+    valid_until TIMESTAMP,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    CONSTRAINT fk_item_booking_summary_item FOREIGN KEY (item_id) REFERENCES items(id)
+);
+
+CREATE INDEX idx_bookings_item_status_dates ON bookings (item_id, status, start_date, end_date);
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC);
+CREATE INDEX idx_items_owner ON items (owner_id);
+CREATE INDEX idx_item_booking_summaries_valid_until ON item_booking_summaries (valid_until);
@@ -0,0 +1,12 @@
+-- ключ курсора (start_date, id) целиком в индексе, чтобы страницы по статусу не досортировывались
+DROP INDEX IF EXISTS idx_bookings_booker_status_start;
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+-- последнее завершённое бронирование вещи и ближайшее окончание для сводок
+CREATE INDEX idx_bookings_item_status_end ON bookings (item_id, status, end_date);
+
+-- проверка перед комментарием: бронировал ли автор вещь
+CREATE INDEX idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
+
+CREATE INDEX idx_comments_item ON comments (item_id, created);
+CREATE INDEX idx_comments_author ON comments (author_id);
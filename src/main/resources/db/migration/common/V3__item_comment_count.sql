@@ -0,0 +1,7 @@
+ALTER TABLE items ADD COLUMN comment_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id);
+
+-- страницы комментариев вещи от новых к старым с курсором (created, id)
+DROP INDEX IF EXISTS idx_comments_item;
+CREATE INDEX idx_comments_item_created ON comments (item_id, created DESC, id DESC);
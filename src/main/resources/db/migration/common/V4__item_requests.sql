@@ -0,0 +1,18 @@
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE requests (
+    id BIGINT NOT NULL,
+    description VARCHAR(1024) NOT NULL,
+    requestor_id BIGINT NOT NULL,
+    created TIMESTAMP NOT NULL,
+    CONSTRAINT pk_request PRIMARY KEY (id),
+    CONSTRAINT fk_request_requestor FOREIGN KEY (requestor_id) REFERENCES users(id)
+);
+
+-- свои запросы и лента всех запросов от новых к старым с курсором (created, id)
+CREATE INDEX idx_requests_requestor_created ON requests (requestor_id, created DESC, id DESC);
+CREATE INDEX idx_requests_created ON requests (created DESC, id DESC);
+
+ALTER TABLE items ADD COLUMN request_id BIGINT;
+ALTER TABLE items ADD CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES requests(id);
+CREATE INDEX idx_items_request ON items (request_id);
@@ -0,0 +1,7 @@
+-- версии для оптимистических блокировок и ETag
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE comments ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- растёт вместе с комментариями вещи и сменой имени владельца или авторов комментариев
+ALTER TABLE items ADD COLUMN revision BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,14 @@
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL,
+    type VARCHAR(64) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created TIMESTAMP NOT NULL,
+    attempts INTEGER DEFAULT 0 NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+-- диспетчер забирает готовые к доставке события по порядку записи
+CREATE INDEX idx_outbox_events_available ON outbox_events (available_at, id);
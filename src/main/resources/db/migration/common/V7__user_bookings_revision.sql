@@ -0,0 +1,2 @@
+-- растёт при любом изменении того, что видно в списке бронирований пользователя, служит его ETag
+ALTER TABLE users ADD COLUMN bookings_revision BIGINT DEFAULT 0 NOT NULL;
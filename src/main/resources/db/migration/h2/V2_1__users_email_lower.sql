@@ -0,0 +1,4 @@
+-- email уникален без учёта регистра; H2 не строит индексы по выражениям, поэтому индексируется вычисляемый столбец
+ALTER TABLE users ADD COLUMN email_lower VARCHAR(512) GENERATED ALWAYS AS (LOWER(email));
+ALTER TABLE users DROP CONSTRAINT uq_user_email;
+CREATE UNIQUE INDEX uq_users_email_lower ON users (email_lower);
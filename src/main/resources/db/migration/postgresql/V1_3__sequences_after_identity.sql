@@ -0,0 +1,6 @@
+-- id раньше выдавал IDENTITY: последовательности продолжают после уже занятых значений;
+-- на пустых таблицах новой базы они не трогаются
+SELECT setval('users_seq', MAX(id)) FROM users HAVING MAX(id) IS NOT NULL;
+SELECT setval('items_seq', MAX(id)) FROM items HAVING MAX(id) IS NOT NULL;
+SELECT setval('bookings_seq', MAX(id)) FROM bookings HAVING MAX(id) IS NOT NULL;
+SELECT setval('comments_seq', MAX(id)) FROM comments HAVING MAX(id) IS NOT NULL;
@@ -0,0 +1,3 @@
+-- email уникален без учёта регистра; поиск по LOWER(email) обслуживает этот же индекс
+ALTER TABLE users DROP CONSTRAINT uq_user_email;
+CREATE UNIQUE INDEX uq_users_email_lower ON users (LOWER(email));
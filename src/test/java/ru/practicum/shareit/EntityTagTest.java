@@ -0,0 +1,192 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class EntityTagTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = newUser();
+        booker = newUser();
+        item = itemRepository.save(new Item(null, "tent", "four person tent", true, owner));
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED,
+                item, booker));
+        summaryService.refresh(List.of(item.getId()));
+    }
+
+    @Test
+    void unchangedItemIsNotModified() throws Exception {
+        String strangerTag = itemTag(booker);
+        String ownerTag = itemTag(owner);
+        assertNotEquals(strangerTag, ownerTag);
+
+        statistics.clear();
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, strangerTag))
+                .andExpect(status().isNotModified());
+        // только версия вещи, без комментариев и бронирований
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, strangerTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, ownerTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void itemTagChangesWithItemCommentsBookingsAndNames() throws Exception {
+        String strangerTag = itemTag(booker);
+        mockMvc.perform(post("/items/{itemId}/comment", item.getId())
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"dry inside\"}"))
+                .andExpect(status().isOk());
+        String commentedTag = itemTag(booker);
+        assertNotEquals(strangerTag, commentedTag);
+
+        mockMvc.perform(patch("/users/{userId}", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed\"}"))
+                .andExpect(status().isOk());
+        String renamedTag = itemTag(booker);
+        assertNotEquals(commentedTag, renamedTag);
+
+        mockMvc.perform(patch("/items/{itemId}", item.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"two person tent\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(renamedTag, itemTag(booker));
+
+        String ownerTag = itemTag(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking next = bookingRepository.save(new Booking(null, start, start.plusDays(1), BookingStatus.WAITING,
+                item, booker));
+        mockMvc.perform(patch("/bookings/{bookingId}", next.getId())
+                        .param("approved", "true")
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        assertNotEquals(ownerTag, itemTag(owner));
+    }
+
+    @Test
+    void bookingListIsNotModifiedUntilBookingsChange() throws Exception {
+        String tag = bookingsTag("ALL");
+        assertEquals(tag, bookingsTag("WAITING"));
+        assertNull(mockMvc.perform(get("/bookings").param("state", "PAST").header(USER_HEADER, booker.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/items/{itemId}", item.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"big tent\"}"))
+                .andExpect(status().isOk());
+        String renamedTag = bookingsTag("ALL");
+        assertNotEquals(tag, renamedTag);
+
+        mockMvc.perform(patch("/users/{userId}", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed booker\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(renamedTag, bookingsTag("ALL"));
+        renamedTag = bookingsTag("ALL");
+
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        mockMvc.perform(post("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\":" + item.getId() + ",\"start\":\"" + start +
+                                "\",\"end\":\"" + start.plusDays(1) + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, renamedTag))
+                .andExpect(status().isOk());
+    }
+
+    private String itemTag(User user) throws Exception {
+        return eTag(get("/items/{itemId}", item.getId()).header(USER_HEADER, user.getId()));
+    }
+
+    private String bookingsTag(String state) throws Exception {
+        return eTag(get("/bookings").param("state", state).header(USER_HEADER, booker.getId()));
+    }
+
+    private String eTag(RequestBuilder request) throws Exception {
+        String eTag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
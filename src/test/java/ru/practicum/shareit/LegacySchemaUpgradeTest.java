@@ -0,0 +1,63 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * База, созданная прежним schema.sql с IDENTITY-ключами и данными, обновляется миграциями при старте,
+ * после чего Hibernate проверяет схему, а новые id не пересекаются со старыми.
+ */
+@SpringBootTest
+class LegacySchemaUpgradeTest {
+    private static final String LEGACY_URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+    private static final long LAST_USER_ID = 120;
+    private static final long LAST_ITEM_ID = 75;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(LEGACY_URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (?, 'owner', 'owner@example.com')", LAST_USER_ID);
+        jdbc.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "VALUES (?, 'tent', 'four person tent', TRUE, ?)", LAST_ITEM_ID, LAST_USER_ID);
+        registry.add("spring.datasource.url", () -> LEGACY_URL);
+    }
+
+    @Test
+    void legacySchemaIsUpgradedAndKeepsIdsApart() {
+        User owner = userRepository.findById(LAST_USER_ID).orElseThrow();
+        Item oldItem = itemRepository.findById(LAST_ITEM_ID).orElseThrow();
+
+        User user = userRepository.save(new User(null, "new", "new@example.com"));
+        Item item = itemRepository.save(new Item(null, "kayak", "single kayak", true, owner));
+
+        assertTrue(user.getId() > LAST_USER_ID, () -> "user id " + user.getId());
+        assertTrue(item.getId() > LAST_ITEM_ID, () -> "item id " + item.getId());
+        summaryRepository.save(new ItemBookingSummary(oldItem.getId(), null, null, null, null, null, null, null));
+        assertEquals(1, summaryRepository.count());
+    }
+}
@@ -0,0 +1,229 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class StatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    @Autowired
+    private ItemSearchEngine searchEngine;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void ownerItemListingDoesNotDependOnItemCount() throws Exception {
+        User smallOwner = ownerWithBookedItems(2);
+        User largeOwner = ownerWithBookedItems(25);
+
+        long small = countStatements(get("/items").header(USER_HEADER, smallOwner.getId()));
+        long large = countStatements(get("/items").header(USER_HEADER, largeOwner.getId()));
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void ownerBookingListingDoesNotDependOnBookingCount() throws Exception {
+        User smallOwner = ownerWithBookedItems(2);
+        User largeOwner = ownerWithBookedItems(25);
+
+        long small = countStatements(get("/bookings/owner").header(USER_HEADER, smallOwner.getId()));
+        long large = countStatements(get("/bookings/owner").header(USER_HEADER, largeOwner.getId()));
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void itemEndpointsUseOneStatementPerFetchPlan() throws Exception {
+        User owner = ownerWithBookedItems(3);
+        List<Item> items = itemRepository.findByOwnerId(owner.getId());
+        summaryService.refresh(items.stream().map(Item::getId).toList());
+        items.forEach(searchEngine::index);
+        Long itemId = items.get(0).getId();
+        User stranger = newUser();
+
+        // вещи с владельцами, сводки бронирований, комментарии с авторами
+        assertStatements(3, get("/items").header(USER_HEADER, owner.getId()));
+        assertStatements(3, get("/items/{itemId}", itemId).header(USER_HEADER, owner.getId()));
+        // чужой вещи сводка бронирований не нужна
+        assertStatements(2, get("/items/{itemId}", itemId).header(USER_HEADER, stranger.getId()));
+        assertStatements(2, get("/items/search").param("text", "description").header(USER_HEADER, stranger.getId()));
+    }
+
+    @Test
+    void bookingEndpointsUseOneStatementPerFetchPlan() throws Exception {
+        User owner = ownerWithBookedItems(3);
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner));
+        User booker = newUser();
+        Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), BookingStatus.WAITING, item, booker));
+        Long bookerId = booker.getId();
+
+        assertStatements(1, get("/bookings/{bookingId}", booking.getId()).header(USER_HEADER, bookerId));
+        // счётчик изменений бронирований для ETag и страница бронирований
+        assertStatements(2, get("/bookings").header(USER_HEADER, bookerId));
+        // владелец, наличие у него вещей, бронирования
+        assertStatements(3, get("/bookings/owner").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void readEndpointsSelectDtosWithoutLoadingEntities() throws Exception {
+        User owner = ownerWithBookedItems(3);
+        List<Item> items = itemRepository.findByOwnerId(owner.getId());
+        items.forEach(searchEngine::index);
+        User stranger = newUser();
+        Long bookerId = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(items.get(0).getId()))
+                .findFirst().orElseThrow()
+                .getBooker().getId();
+
+        assertNoEntitiesLoaded(get("/items/{itemId}", items.get(0).getId()).header(USER_HEADER, stranger.getId()));
+        assertNoEntitiesLoaded(get("/items/search").param("text", "description").header(USER_HEADER, stranger.getId()));
+        assertNoEntitiesLoaded(get("/bookings").header(USER_HEADER, bookerId));
+        assertNoEntitiesLoaded(get("/bookings/owner").param("size", "10").header(USER_HEADER, owner.getId()));
+        assertNoEntitiesLoaded(get("/items/{itemId}/comments", items.get(0).getId()));
+    }
+
+    @Test
+    void requestFeedDoesNotDependOnRequestCount() throws Exception {
+        User reader = newUser();
+        requestsWithAnswers(2);
+        long small = countStatements(get("/requests/all").param("size", "2").header(USER_HEADER, reader.getId()));
+        requestsWithAnswers(20);
+        long large = countStatements(get("/requests/all").param("size", "20").header(USER_HEADER, reader.getId()));
+
+        // пользователь, страница запросов, ответы на всю страницу
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void bulkBookingImportIsBatched() throws Exception {
+        User owner = newUser();
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner));
+        User booker = newUser();
+
+        long small = countStatements(bulkImport(item, booker, 0, 3));
+        long large = countStatements(bulkImport(item, booker, 3, 40));
+
+        // последовательность может понадобиться лишний раз, если пул id закончится между импортами
+        assertTrue(large <= small + 1, () -> small + " statements for 3 bookings, " + large + " for 40");
+    }
+
+    private RequestBuilder bulkImport(Item item, User booker, int firstDay, int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String body = IntStream.range(firstDay, firstDay + count)
+                .mapToObj(day -> "{\"itemId\":" + item.getId() + ",\"start\":\"" + start.plusDays(day) +
+                        "\",\"end\":\"" + start.plusDays(day).plusHours(1) + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        return post("/bookings/batch")
+                .header(USER_HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        assertEquals(expected, countStatements(request), () -> statistics.getQueries().length + " distinct queries");
+    }
+
+    private void assertNoEntitiesLoaded(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(0, statistics.getEntityLoadCount(), () -> String.join(", ", statistics.getEntityNames()));
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User ownerWithBookedItems(int itemCount) {
+        User owner = newUser();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = itemRepository.save(new Item(null, "item " + i, "description " + i, true, owner));
+            User booker = newUser();
+            bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                    BookingStatus.APPROVED, item, booker));
+            bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3),
+                    BookingStatus.APPROVED, item, booker));
+            commentRepository.save(new Comment(null, "comment " + i, now.minusDays(1), item, booker));
+        }
+        return owner;
+    }
+
+    private void requestsWithAnswers(int requestCount) {
+        User requestor = newUser();
+        User owner = newUser();
+        for (int i = 0; i < requestCount; i++) {
+            ItemRequest request = requestRepository.save(new ItemRequest(null, "need " + i, requestor,
+                    LocalDateTime.now()));
+            Item item = new Item(null, "item " + i, "description " + i, true, owner);
+            item.setRequest(request);
+            itemRepository.save(item);
+        }
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingBatchTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = newUser();
+        booker = newUser();
+        item = itemRepository.save(new Item(null, "ladder", "folding ladder", true, owner));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void createsNonOverlappingBookingsInOneRequest() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + request(0, 1) + "," + request(1, 2) + "," + request(2, 3) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].status", everyItem(equalTo("WAITING"))));
+    }
+
+    @Test
+    void rejectsWholeImportWhenRequestsOverlapEachOther() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + request(0, 2) + "," + request(1, 3) + "]"))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(bookingRepository.findAll().stream()
+                .noneMatch(booking -> booking.getBooker().getId().equals(booker.getId())));
+    }
+
+    @Test
+    void rejectsImportOverlappingApprovedBooking() throws Exception {
+        bookingRepository.save(new Booking(null, start.plusDays(1), start.plusDays(2),
+                BookingStatus.APPROVED, item, newUser()));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + request(0, 1) + "," + request(1, 3) + "]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsEmptyImport() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void approvesBookingsInOneTransaction() throws Exception {
+        Booking first = waiting(0, 1);
+        Booking second = waiting(1, 2);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(USER_HEADER, owner.getId())
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first.getId() + "," + second.getId() + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].status", everyItem(equalTo("APPROVED"))));
+    }
+
+    @Test
+    void approvingOverlappingBookingsTogetherChangesNothing() throws Exception {
+        Booking first = waiting(0, 2);
+        Booking second = waiting(1, 3);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(USER_HEADER, owner.getId())
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first.getId() + "," + second.getId() + "]"))
+                .andExpect(status().isBadRequest());
+
+        bookingRepository.findAllById(List.of(first.getId(), second.getId()))
+                .forEach(booking -> assertEquals(BookingStatus.WAITING, booking.getStatus()));
+    }
+
+    @Test
+    void onlyOwnerCanUpdateBatch() throws Exception {
+        Booking booking = waiting(0, 1);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(USER_HEADER, booker.getId())
+                        .param("approved", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + booking.getId() + "]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String request(int fromDay, int toDay) {
+        return "{\"itemId\":" + item.getId() + ",\"start\":\"" + start.plusDays(fromDay) +
+                "\",\"end\":\"" + start.plusDays(toDay) + "\"}";
+    }
+
+    private Booking waiting(int fromDay, int toDay) {
+        return bookingRepository.save(new Booking(null, start.plusDays(fromDay), start.plusDays(toDay),
+                BookingStatus.WAITING, item, booker));
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.InvalidInputException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+class BookingContentionTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsApproveOnlyOne() throws Exception {
+        User owner = newUser();
+        Item item = itemRepository.save(new Item(null, "drill", "cordless drill", true, owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Long> bookingIds = runConcurrently(i -> {
+            BookingCreateDto request = new BookingCreateDto(item.getId(), start.plusHours(i), start.plusDays(1));
+            return bookingService.createBooking(request, newUser().getId()).getId();
+        }).stream().map(this::resultOf).toList();
+
+        List<Future<Long>> approvals = runConcurrently(i -> bookingService
+                .updateBookingStatus(bookingIds.get(i), true, owner.getId()).getId());
+
+        int rejected = 0;
+        for (Future<Long> approval : approvals) {
+            try {
+                approval.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(InvalidInputException.class, e.getCause());
+                rejected++;
+            }
+        }
+        long approved = bookingRepository.findAllById(bookingIds).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count();
+        assertEquals(1, approved);
+        assertEquals(THREADS - 1, rejected);
+    }
+
+    private <T> List<Future<T>> runConcurrently(IndexedTask<T> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            Callable<T> callable = () -> {
+                startSignal.await();
+                return task.run(index);
+            };
+            futures.add(executor.submit(callable));
+        }
+        startSignal.countDown();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return futures;
+    }
+
+    private <T> T resultOf(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingPaginationTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int BOOKINGS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private List<Long> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        User owner = newUser();
+        booker = newUser();
+        Item item = itemRepository.save(new Item(null, "tent", "two person tent", true, owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        expectedOrder = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            // пары бронирований с одинаковым началом проверяют сортировку по id
+            LocalDateTime bookingStart = start.plusDays(i / 2);
+            Booking booking = bookingRepository.save(new Booking(null, bookingStart, bookingStart.plusHours(1),
+                    BookingStatus.WAITING, item, booker));
+            expectedOrder.add(0, booking.getId());
+        }
+    }
+
+    @Test
+    void cursorWalksAllBookingsNewestFirst() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/bookings").header(USER_HEADER, booker.getId()).param("size", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            List<Integer> ids = JsonPath.read(result.getResponse().getContentAsString(),
+                    "$[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = result.getResponse().getHeader(BookingController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(expectedOrder, seen);
+    }
+
+    @Test
+    void fromSkipsRows() throws Exception {
+        mockMvc.perform(get("/bookings").header(USER_HEADER, booker.getId())
+                        .param("from", "5").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(expectedOrder.get(5)));
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/bookings").header(USER_HEADER, booker.getId()).param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ndjsonStreamsEveryBookingOnItsOwnLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/bookings").header(USER_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(BOOKINGS, lines.length);
+        assertNull(result.getResponse().getHeader(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void ndjsonRejectsUserWithoutItemsBeforeStreaming() throws Exception {
+        // ошибка описывается в JSON, поэтому клиент принимает и его
+        mockMvc.perform(get("/bookings/owner").header(USER_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.InvalidInputException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemAvailabilityTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemAvailabilityIndex availabilityIndex;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = newUser();
+        item = itemRepository.save(new Item(null, "tent", "four-person tent", true, owner));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void freeSlotsSkipApprovedBookingsOnly() throws Exception {
+        approve(book(1, 2));
+        approve(book(4, 5));
+        book(2, 3);
+
+        availability(0, 6)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].start").value(day(0)))
+                .andExpect(jsonPath("$[0].end").value(day(1)))
+                .andExpect(jsonPath("$[1].start").value(day(2)))
+                .andExpect(jsonPath("$[1].end").value(day(4)))
+                .andExpect(jsonPath("$[2].start").value(day(5)))
+                .andExpect(jsonPath("$[2].end").value(day(6)));
+    }
+
+    @Test
+    void rejectingApprovedBookingFreesItsPeriod() throws Exception {
+        Long bookingId = book(1, 3);
+        approve(bookingId);
+        assertThrows(InvalidInputException.class, () -> approve(book(2, 4)));
+
+        bookingService.updateBookingStatus(bookingId, false, owner.getId());
+
+        availability(0, 6)
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].start").value(day(0)))
+                .andExpect(jsonPath("$[0].end").value(day(6)));
+        approve(book(2, 4));
+    }
+
+    @Test
+    void staleCalendarReloadedByReadOnlyQueryIsKept() throws Exception {
+        Long first = book(1, 2);
+        Long second = book(3, 4);
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // вложенная транзакция фиксируется раньше внешней, поэтому календарь вещи помечается устаревшим
+        outer.executeWithoutResult(status -> {
+            approveInIndex(first);
+            inner.executeWithoutResult(innerStatus -> approveInIndex(second));
+        });
+
+        availability(0, 6).andExpect(jsonPath("$", hasSize(3)));
+
+        // изменение мимо индекса не видно: перечитанный календарь сохранён, а не перечитывается снова
+        inner.executeWithoutResult(status ->
+                bookingRepository.findById(second).orElseThrow().setStatus(BookingStatus.REJECTED));
+        availability(0, 6).andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void rejectsEmptyPeriodAndUnknownItem() throws Exception {
+        availability(3, 3).andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/{itemId}/availability", -1)
+                        .param("to", day(1)))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions availability(int fromDay, int toDay) throws Exception {
+        return mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                .param("from", day(fromDay))
+                .param("to", day(toDay)));
+    }
+
+    private Long book(int fromDay, int toDay) {
+        BookingCreateDto request = new BookingCreateDto(item.getId(), start.plusDays(fromDay), start.plusDays(toDay));
+        return bookingService.createBooking(request, newUser().getId()).getId();
+    }
+
+    private void approve(Long bookingId) {
+        bookingService.updateBookingStatus(bookingId, true, owner.getId());
+    }
+
+    private void approveInIndex(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        booking.setStatus(BookingStatus.APPROVED);
+        availabilityIndex.update(List.of(booking));
+    }
+
+    private String day(int day) {
+        return start.plusDays(day).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ItemBookingSummaryTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void statusChangesUpdateNextBooking() {
+        User owner = newUser();
+        Item item = itemRepository.save(new Item(null, "tent", "four person tent", true, owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        Booking booking = bookingRepository.save(new Booking(null, start, start.plusDays(1),
+                BookingStatus.WAITING, item, newUser()));
+
+        bookingService.updateBookingStatus(booking.getId(), true, owner.getId());
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(booking.getId(), summary.getNextBookingId());
+        assertNull(summary.getLastBookingId());
+        assertEquals(start, summary.getValidUntil());
+
+        bookingService.updateBookingStatus(booking.getId(), false, owner.getId());
+
+        summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertNull(summary.getNextBookingId());
+        assertNull(summary.getValidUntil());
+    }
+
+    @Test
+    void outdatedSummaryIsRecalculatedOnReadAndRolledForward() {
+        User owner = newUser();
+        Item item = itemRepository.save(new Item(null, "kayak", "single kayak", true, owner));
+        LocalDateTime now = LocalDateTime.now();
+        Booking finished = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1),
+                BookingStatus.APPROVED, item, newUser()));
+        // сводка рассчитана до окончания бронирования и с тех пор устарела
+        summaryRepository.save(new ItemBookingSummary(item.getId(), null, null, null,
+                finished.getId(), finished.getStartDate(), finished.getEndDate(), finished.getStartDate()));
+
+        ItemBookingSummary read = summaryService.getSummaries(List.of(item.getId())).get(item.getId());
+        assertEquals(finished.getId(), read.getLastBookingId());
+        assertNull(read.getNextBookingId());
+        assertEquals(finished.getId(), summaryRepository.findById(item.getId()).orElseThrow().getNextBookingId());
+
+        summaryService.refreshOutdated();
+
+        ItemBookingSummary stored = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(finished.getId(), stored.getLastBookingId());
+        assertNull(stored.getNextBookingId());
+        assertNull(stored.getValidUntil());
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.availability.IntervalTree.Interval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private IntervalTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new IntervalTree();
+        tree.insert(interval(1, 0, 2));
+        tree.insert(interval(2, 5, 8));
+        tree.insert(interval(3, 6, 7));
+        tree.insert(interval(4, 10, 12));
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        assertEquals(List.of(), ids(tree.overlapping(day(2), day(5))));
+        assertEquals(List.of(), ids(tree.overlapping(day(8), day(10))));
+        assertEquals(List.of(1L), ids(tree.overlapping(day(1), day(3))));
+    }
+
+    @Test
+    void returnsOverlappingIntervalsInStartOrder() {
+        assertEquals(List.of(1L, 2L, 3L), ids(tree.overlapping(day(1), day(7))));
+        assertEquals(List.of(), ids(tree.overlapping(day(12), day(20))));
+    }
+
+    @Test
+    void removedAndReplacedIntervals() {
+        assertTrue(tree.remove(interval(2, 5, 8)));
+        assertFalse(tree.remove(interval(2, 5, 8)));
+        tree.insert(interval(3, 6, 9));
+
+        assertEquals(3, tree.size());
+        assertEquals(List.of(interval(3, 6, 9)), tree.overlapping(day(8), day(9)));
+    }
+
+    @Test
+    void matchesLinearScanOnRandomIntervals() {
+        Random random = new Random(42);
+        IntervalTree randomTree = new IntervalTree();
+        List<Interval> intervals = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            int start = random.nextInt(1000);
+            Interval interval = interval(id, start, start + 1 + random.nextInt(20));
+            randomTree.insert(interval);
+            intervals.add(interval);
+            if (random.nextInt(3) == 0) {
+                Interval removed = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(randomTree.remove(removed));
+            }
+        }
+        assertEquals(intervals.size(), randomTree.size());
+
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime from = day(random.nextInt(1000));
+            LocalDateTime to = from.plusDays(1 + random.nextInt(30));
+            List<Interval> expected = intervals.stream()
+                    .filter(interval -> interval.start().isBefore(to) && interval.end().isAfter(from))
+                    .sorted(IntervalTree.ORDER)
+                    .toList();
+
+            assertEquals(expected, randomTree.overlapping(from, to));
+        }
+    }
+
+    private static Interval interval(long id, int startDay, int endDay) {
+        return new Interval(id, day(startDay), day(endDay));
+    }
+
+    private static LocalDateTime day(int day) {
+        return START.plusDays(day);
+    }
+
+    private static List<Long> ids(List<Interval> intervals) {
+        return intervals.stream().map(Interval::id).toList();
+    }
+}
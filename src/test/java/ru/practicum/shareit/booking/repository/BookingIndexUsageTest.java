@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2 сам индексирует внешние ключи, поэтому проверяем отсутствие полного сканирования, а не имя индекса
+@SpringBootTest
+class BookingIndexUsageTest {
+    private static final String AFTER_CURSOR = "AND (b.start_date < TIMESTAMP '9999-12-31 23:59:59' " +
+            "OR (b.start_date = TIMESTAMP '9999-12-31 23:59:59' AND b.id < 9223372036854775807)) " +
+            "ORDER BY b.start_date DESC, b.id DESC LIMIT 20";
+    private static final String NOW = "TIMESTAMP '2030-01-01 12:00:00'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookerQueriesUseBookerIndex(BookingState state) {
+        String plan = explain("SELECT b.* FROM bookings b WHERE b.booker_id = 1 " + predicate(state) + AFTER_CURSOR);
+
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.contains("BOOKER_ID = "), plan);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void ownerQueriesUseOwnerAndItemIndexes(BookingState state) {
+        String plan = explain("SELECT b.* FROM bookings b JOIN items i ON b.item_id = i.id " +
+                "WHERE i.owner_id = 1 " + predicate(state) + AFTER_CURSOR);
+
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.contains("OWNER_ID = "), plan);
+        assertTrue(plan.contains("ITEM_ID = I.ID"), plan);
+    }
+
+    private String predicate(BookingState state) {
+        return switch (state) {
+            case ALL -> "";
+            case CURRENT -> "AND b.status = 'APPROVED' AND b.start_date < " + NOW + " AND b.end_date > " + NOW + " ";
+            case PAST -> "AND b.status = 'APPROVED' AND b.end_date < " + NOW + " ";
+            case FUTURE -> "AND b.status = 'APPROVED' AND b.start_date > " + NOW + " ";
+            case WAITING -> "AND b.status = 'WAITING' ";
+            case REJECTED -> "AND b.status = 'REJECTED' ";
+        };
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
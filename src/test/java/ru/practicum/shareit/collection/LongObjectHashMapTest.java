@@ -0,0 +1,88 @@
+package ru.practicum.shareit.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void behavesLikeHashMapWhileGrowing() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // последовательные id, отрицательные ключи и ключи, отличающиеся только старшими битами
+            long key = switch (i % 3) {
+                case 0 -> i;
+                case 1 -> -random.nextInt(1_000);
+                default -> (long) random.nextInt(16) << 40;
+            };
+            assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertNull(map.get(Long.MAX_VALUE));
+        assertFalse(map.containsKey(Long.MIN_VALUE));
+        assertEquals("none", map.getOrDefault(Long.MIN_VALUE, "none"));
+
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+        LongArrayList keys = map.keys();
+        assertEquals(expected.size(), keys.size());
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    @Test
+    void computeIfAbsentCreatesValueOnce() {
+        LongObjectHashMap<List<String>> map = new LongObjectHashMap<>(1);
+
+        List<String> first = map.computeIfAbsent(0, key -> new ArrayList<>());
+        first.add("a");
+        List<String> second = map.computeIfAbsent(0, key -> {
+            throw new AssertionError("value already exists");
+        });
+
+        assertSame(first, second);
+        assertTrue(map.containsKey(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void nullValuesAreRejected() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(NullPointerException.class, () -> map.computeIfAbsent(1, key -> null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void sortedListAnswersContains() {
+        LongArrayList list = new LongArrayList(1);
+        for (long value : new long[]{42, -7, 1_000_000_000_000L, 3}) {
+            list.add(value);
+        }
+        list.sort();
+
+        assertArrayEquals(new long[]{-7, 3, 42, 1_000_000_000_000L}, list.toArray());
+        assertTrue(list.sortedContains(42));
+        assertFalse(list.sortedContains(4));
+        assertEquals(List.of(-7L, 3L, 42L, 1_000_000_000_000L), list.boxed());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(4));
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Основная база и реплика — две независимые базы H2, репликацию заменяет запись в реплику из теста.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:primary")
+class ReplicaRoutingTest {
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        registry.add("shareit.datasource.replica.jdbc-url", () -> REPLICA_URL);
+        registry.add("shareit.datasource.replica.username", () -> "sa");
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        UserDto user = userService.createUser(newUser());
+
+        assertFalse(userService.getAllUsers().stream().anyMatch(found -> found.getId().equals(user.getId())));
+
+        replica.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                user.getId(), user.getName(), user.getEmail());
+
+        assertTrue(userService.getAllUsers().stream().anyMatch(found -> found.getId().equals(user.getId())));
+    }
+
+    @Test
+    void writeTransactionsReadFromPrimary() {
+        UserDto user = userService.createUser(newUser());
+
+        assertEquals("renamed", userService.updateUser(user.getId(), new UserDto(null, "renamed", null)).getName());
+
+        ItemDto item = new ItemDto();
+        item.setName("drill");
+        item.setDescription("cordless drill");
+        item.setAvailable(true);
+        assertEquals(user.getId(), itemService.createItem(item, user.getId()).getOwner().getId());
+    }
+
+    private UserDto newUser() {
+        String name = UUID.randomUUID().toString();
+        return new UserDto(null, name, name + "@example.com");
+    }
+}
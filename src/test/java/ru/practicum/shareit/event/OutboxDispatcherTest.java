@@ -0,0 +1,146 @@
+package ru.practicum.shareit.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.event.DomainEvent.BookingCreated;
+import ru.practicum.shareit.event.DomainEvent.BookingStatusChanged;
+import ru.practicum.shareit.event.DomainEvent.ItemCreated;
+import ru.practicum.shareit.event.DomainEvent.ItemUpdated;
+import ru.practicum.shareit.exception.InvalidInputException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.outbox.batch-size=2")
+class OutboxDispatcherTest {
+    @Autowired
+    private OutboxDispatcher dispatcher;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private RecordingHandler recorder;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = newUser();
+        ItemDto newItem = new ItemDto();
+        newItem.setName("canoe");
+        newItem.setDescription("two seat canoe");
+        newItem.setAvailable(true);
+        item = itemService.createItem(newItem, owner.getId());
+        // новая вещь находится сразу после фиксации, не дожидаясь доставки события
+        assertTrue(itemService.searchAvailableItems("canoe", owner.getId()).stream()
+                .anyMatch(found -> found.getId().equals(item.getId())));
+        drain();
+        assertTrue(recorder.events.contains(new ItemCreated(item.getId())));
+        recorder.events.clear();
+    }
+
+    @Test
+    void eventsAreWrittenWithChangesAndDeliveredInBatches() {
+        ItemDto update = new ItemDto();
+        update.setName("kayak");
+        itemService.updateItem(update, owner.getId(), item.getId());
+
+        assertTrue(itemService.searchAvailableItems("kayak", owner.getId()).stream()
+                .anyMatch(found -> found.getId().equals(item.getId())));
+
+        User booker = newUser();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusDays(1)), booker.getId());
+        bookingService.updateBookingStatus(booking.getId(), true, owner.getId());
+        // отклонённая транзакция не оставляет событий
+        assertThrows(InvalidInputException.class, () -> bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusDays(1)), booker.getId()));
+
+        drain();
+
+        assertEquals(List.of(new ItemUpdated(item.getId()),
+                new BookingCreated(booking.getId(), item.getId()),
+                new BookingStatusChanged(booking.getId(), item.getId(), BookingStatus.APPROVED)), recorder.events);
+        assertTrue(outboxRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void failedEventsAreRedeliveredAfterRetryDelay() {
+        recorder.failingItemIds.add(item.getId());
+        ItemDto update = new ItemDto();
+        update.setDescription("three seat canoe");
+        itemService.updateItem(update, owner.getId(), item.getId());
+
+        drain();
+        OutboxEvent pending = outboxRepository.findAll().get(0);
+        assertEquals(1, pending.getAttempts());
+        assertTrue(pending.getAvailableAt().isAfter(LocalDateTime.now()));
+
+        recorder.failingItemIds.clear();
+        pending.setAvailableAt(LocalDateTime.now());
+        outboxRepository.save(pending);
+        drain();
+
+        assertEquals(List.of(new ItemUpdated(item.getId()), new ItemUpdated(item.getId())), recorder.events);
+        assertTrue(outboxRepository.findAll().isEmpty());
+    }
+
+    private void drain() {
+        while (dispatcher.dispatchPending() > 0) {
+            // события из других тестов доставляются тем же диспетчером
+        }
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements DomainEventHandler {
+        final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+        final Set<Long> failingItemIds = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void handle(DomainEvent event) {
+            events.add(event);
+            if (event instanceof ItemUpdated updated && failingItemIds.contains(updated.itemId())) {
+                throw new IllegalStateException("consumer is down");
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.CommentService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.item.latest-comments=2")
+@AutoConfigureMockMvc
+class CommentPaginationTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private Item item;
+    private List<Long> commentIds;
+
+    @BeforeEach
+    void setUp() {
+        owner = newUser();
+        item = itemRepository.save(new Item(null, "bike", "city bike", true, owner));
+        User author = newUser();
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED,
+                item, author));
+        commentIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            commentIds.add(0, commentService.addComment(item.getId(), author.getId(), "comment " + i).getId());
+        }
+    }
+
+    @Test
+    void itemEmbedsLatestCommentsAndTotalCount() throws Exception {
+        mockMvc.perform(get("/items/{itemId}", item.getId()).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(5))
+                .andExpect(jsonPath("$.comments", hasSize(2)))
+                .andExpect(jsonPath("$.comments[0].id").value(commentIds.get(0)))
+                .andExpect(jsonPath("$.comments[1].id").value(commentIds.get(1)));
+
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(jsonPath("$[0].commentCount").value(5))
+                .andExpect(jsonPath("$[0].comments", hasSize(2)));
+    }
+
+    @Test
+    void commentsArePagedNewestFirstByCursor() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult result = mockMvc.perform(get("/items/{itemId}/comments", item.getId())
+                            .param("size", "2")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            seen.addAll(ids(result));
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(commentIds, seen);
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items/{itemId}/comments", item.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andReturn();
+
+        assertNull(result.getResponse().getHeader(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void rejectsUnknownItemAndOversizedPage() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/comments", -1))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/items/{itemId}/comments", item.getId()).param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    private List<Long> ids(MvcResult result) throws Exception {
+        String body = result.getResponse().getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        for (Object id : JsonPath.<List<Object>>read(body, "$[*].id")) {
+            ids.add(((Number) id).longValue());
+        }
+        return ids;
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class InMemoryItemSearchEngineTest {
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryItemSearchEngine(mock(ItemRepository.class));
+        engine.index(new Item(1L, "Дрель", "Аккумуляторная дрель", true, null));
+        engine.index(new Item(2L, "Отвёртка", "Аккумуляторная отвёртка", true, null));
+        engine.index(new Item(3L, "Шуруповёрт", "Дрель-шуруповёрт", true, null));
+        engine.index(new Item(4L, "Дрель ударная", "Сломана", false, null));
+    }
+
+    @Test
+    void matchesSubstringsCaseInsensitivelyAndRanksNameMatchesFirst() {
+        assertEquals(List.of(1L, 3L), engine.search("ДРЕЛЬ", 10));
+    }
+
+    @Test
+    void matchesQueriesShorterThanTrigram() {
+        assertEquals(List.of(1L, 3L), engine.search("ль", 10));
+    }
+
+    @Test
+    void respectsLimit() {
+        assertEquals(List.of(1L, 2L), engine.search("аккумулятор", 2).stream().sorted().toList());
+        assertEquals(1, engine.search("аккумулятор", 1).size());
+    }
+
+    @Test
+    void reindexReplacesPreviousText() {
+        engine.index(new Item(2L, "Пила", "Ручная пила", true, null));
+
+        assertEquals(List.of(1L), engine.search("аккумулятор", 10));
+        assertEquals(List.of(2L), engine.search("пила", 10));
+    }
+
+    @Test
+    void removedItemsAreNotFound() {
+        engine.remove(1L);
+
+        assertEquals(List.of(3L), engine.search("дрель", 10));
+    }
+}
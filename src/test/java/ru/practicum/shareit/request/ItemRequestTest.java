@@ -0,0 +1,136 @@
+package ru.practicum.shareit.request;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemRequestTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User requestor;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        requestor = newUser();
+        owner = newUser();
+    }
+
+    @Test
+    void itemsAnswerRequests() throws Exception {
+        long requestId = createRequest(requestor, "need a ladder");
+        long itemId = ((Number) JsonPath.read(mockMvc.perform(post("/items")
+                        .header(USER_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"ladder\",\"description\":\"3 m ladder\",\"available\":true," +
+                                "\"requestId\":" + requestId + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestId").value(requestId))
+                .andReturn().getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(get("/requests/{requestId}", requestId).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("need a ladder"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(itemId))
+                .andExpect(jsonPath("$.items[0].name").value("ladder"))
+                .andExpect(jsonPath("$.items[0].ownerId").value(owner.getId()));
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, requestor.getId()))
+                .andExpect(jsonPath("$.requestId").value(requestId));
+    }
+
+    @Test
+    void ownRequestsAreListedNewestFirst() throws Exception {
+        long first = createRequest(requestor, "need a drill");
+        long second = createRequest(requestor, "need a saw");
+        createRequest(owner, "need a tent");
+
+        mockMvc.perform(get("/requests").header(USER_HEADER, requestor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(second))
+                .andExpect(jsonPath("$[1].id").value(first))
+                .andExpect(jsonPath("$[0].items", hasSize(0)));
+    }
+
+    @Test
+    void feedOfOtherRequestsIsPagedByCursor() throws Exception {
+        long first = createRequest(owner, "need a kayak");
+        long second = createRequest(owner, "need a paddle");
+        long third = createRequest(owner, "need a life vest");
+        long own = createRequest(requestor, "need a tent");
+
+        MvcResult page = mockMvc.perform(get("/requests/all").param("size", "2")
+                        .header(USER_HEADER, requestor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(third))
+                .andExpect(jsonPath("$[1].id").value(second))
+                .andReturn();
+        String cursor = page.getResponse().getHeader(NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/requests/all").param("size", "2").param("cursor", cursor)
+                        .header(USER_HEADER, requestor.getId()))
+                .andExpect(jsonPath("$[0].id").value(first));
+
+        mockMvc.perform(get("/requests/all").param("size", "1").header(USER_HEADER, owner.getId()))
+                .andExpect(jsonPath("$[0].id").value(own))
+                .andExpect(header().exists(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void invalidRequestsAreRejected() throws Exception {
+        mockMvc.perform(post("/requests")
+                        .header(USER_HEADER, requestor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\" \"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests/all").param("size", "0").header(USER_HEADER, requestor.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests").header(USER_HEADER, Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/requests/{requestId}", Long.MAX_VALUE).header(USER_HEADER, requestor.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createRequest(User user, String description) throws Exception {
+        String response = mockMvc.perform(post("/requests")
+                        .header(USER_HEADER, user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"" + description + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private User newUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@example.com"));
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.IdNotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class UserCacheTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+    private Cache users;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        users = cacheManager.getCache(UserServiceImpl.USERS_CACHE);
+        String name = UUID.randomUUID().toString();
+        user = userRepository.save(new User(null, name, name + "@example.com"));
+    }
+
+    @Test
+    void repeatedReadIsServedFromCache() throws Exception {
+        userService.getUserById(user.getId());
+
+        statistics.clear();
+        assertEquals(user.getName(), userService.getUserById(user.getId()).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("cache_gets_total{application=\"shareit\",cache=\"users\""),
+                        containsString("result=\"hit\""),
+                        containsString("cache_evictions_total"))));
+    }
+
+    @Test
+    void updateEvictsEntryAfterCommit() {
+        userService.getUserById(user.getId());
+        UserDto update = new UserDto();
+        update.setName("renamed");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.updateUser(user.getId(), update);
+            // до фиксации другие потоки ещё читают прежнее имя из базы, и кэш должен с ним совпадать
+            assertNotNull(users.get(user.getId()));
+        });
+
+        assertNull(users.get(user.getId()));
+        assertEquals("renamed", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    void deleteEvictsEntry() {
+        userService.getUserById(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertNull(users.get(user.getId()));
+        assertThrows(IdNotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class UserEmailTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void emailIsUniqueIgnoringCase() throws Exception {
+        String name = UUID.randomUUID().toString();
+        createUser(name + "@example.com").andExpect(status().isOk());
+
+        createUser(name.toUpperCase() + "@EXAMPLE.com")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Already Exists"));
+    }
+
+    @Test
+    void updateChecksEmailWithoutExtraQuery() throws Exception {
+        String taken = UUID.randomUUID() + "@example.com";
+        createUser(taken).andExpect(status().isOk());
+        String email = UUID.randomUUID() + "@example.com";
+        long userId = ((Number) JsonPath.read(createUser(email).andReturn().getResponse().getContentAsString(),
+                "$.id")).longValue();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        updateEmail(userId, email.toUpperCase())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email.toUpperCase()));
+        // пользователь, счётчик изменений его бронирований и обновление, без поиска по email
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        updateEmail(userId, taken.toUpperCase()).andExpect(status().isConflict());
+        updateEmail(userId, "not an email").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions createUser(String email) throws Exception {
+        return mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"user\",\"email\":\"" + email + "\"}"));
+    }
+
+    private ResultActions updateEmail(long userId, String email) throws Exception {
+        return mockMvc.perform(patch("/users/{userId}", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\"}"));
+    }
+}
@@ -37,4 +37,4 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comment PRIMARY KEY (id),
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items(id),
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users(id)
-);
\ No newline at end of file
+);